@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Benchmark
+    public List<BookingDto> getOwnerBookings(ShareItState state) {
+        return state.getBookingService().getOwnerBookings(state.getOwnerId(), State.ALL, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getOwnerFutureBookings(ShareItState state) {
+        return state.getBookingService().getOwnerBookings(state.getOwnerId(), State.FUTURE, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+@Getter
+public class ShareItState {
+
+    private static final long OWNER_ID = 1L;
+    private static final int BOOKERS = 10;
+
+    @Param({"100", "1000"})
+    private int items;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks-" + System.nanoTime(),
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.sql.init.schema-locations=classpath:schema.sql",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public long getOwnerId() {
+        return OWNER_ID;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>();
+        users.add(new Object[]{OWNER_ID, "Owner", "owner@example.com"});
+        for (int i = 1; i <= BOOKERS; i++) {
+            users.add(new Object[]{OWNER_ID + i, "Booker " + i, "booker" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH " + (OWNER_ID + BOOKERS + 1));
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            String description = i % 10 == 0 ? "Cordless drill " + i : "Garden tool " + i;
+            itemRows.add(new Object[]{(long) i, "Item " + i, description, true, OWNER_ID});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (?, ?, ?, ?, ?)", itemRows);
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH " + (items + 1));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (long itemId = 1; itemId <= items; itemId++) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusDays(2L * (i - bookingsPerItem / 2));
+                Status status = i % 3 == 0 ? Status.WAITING : Status.APPROVED;
+                long bookerId = OWNER_ID + 1 + (itemId + i) % BOOKERS;
+                bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1)), itemId,
+                        bookerId, status.name()});
+            }
+            comments.add(new Object[]{"Comment " + itemId, itemId, OWNER_ID + 1 + itemId % BOOKERS,
+                    Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments);
+    }
+}
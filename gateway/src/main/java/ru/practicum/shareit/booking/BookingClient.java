@@ -1,53 +1,86 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         @Nullable WebClient webClient,
+                         @Nullable ResponseCache responseCache,
+                         @Value("${shareit-server.passthrough:false}") boolean passthrough) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient == null ? null : webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache == null ? null : responseCache.forResource(API_PREFIX, "/items"),
+                passthrough
         );
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(Long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveBooking(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("?state={state}", userId, parameters);
+    public Mono<ResponseEntity<Object>> approveBookings(Long userId, List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getUserBookings(Long userId, BookingState state, String cursor, Integer size) {
+        return get(pageQuery("", cursor), userId, pageParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookings(Long userId, BookingState state, String cursor, Integer size) {
+        return get(pageQuery("/owner", cursor), userId, pageParameters(state, cursor, size));
+    }
+
+    private static String pageQuery(String path, String cursor) {
+        String query = path + "?state={state}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
\ No newline at end of file
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -16,27 +24,36 @@ import ru.practicum.shareit.booking.dto.BookingState;
 @Validated
 public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> addBooking(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                      @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Создание бронирования: {}, id пользователя={}", requestDto, userId);
         return bookingClient.createBooking(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("Запрос информации о бронировании: id брони={}, id пользователя={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveBookings(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid BookingDecisionDto> decisions) {
+        log.info("Пакетное изменение статусов бронирований: id пользователя={}, строк={}", userId, decisions.size());
+        return bookingClient.approveBookings(userId, decisions);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                 @PathVariable Long bookingId,
-                                                 @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> approveBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                       @PathVariable Long bookingId,
+                                                       @RequestParam Boolean approved) {
         String status = approved ? "подтверждено" : "отклонено";
         log.info("Изменение статуса бронирования: id брони={}, id пользователя={}, статус={}",
                 bookingId, userId, status);
@@ -44,20 +61,26 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                  @RequestParam(name = "state", defaultValue = "ALL") String state) {
+    public Mono<ResponseEntity<Object>> getUserBookings(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                        @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer size) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Неизвестный статус: " + state));
-        log.info("Получение бронирований пользователя: id пользователя={}, статус={}", userId, bookingState);
-        return bookingClient.getUserBookings(userId, bookingState);
+        log.info("Получение бронирований пользователя: id пользователя={}, статус={}, размер страницы={}",
+                userId, bookingState, size);
+        return bookingClient.getUserBookings(userId, bookingState, cursor, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                                   @RequestParam(name = "state", defaultValue = "ALL") String state) {
+    public Mono<ResponseEntity<Object>> getOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                         @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer size) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Неизвестный статус: " + state));
-        log.info("Получение бронирований владельца: id владельца={}, статус={}", ownerId, bookingState);
-        return bookingClient.getOwnerBookings(ownerId, bookingState);
+        log.info("Получение бронирований владельца: id владельца={}, статус={}, размер страницы={}",
+                ownerId, bookingState, size);
+        return bookingClient.getOwnerBookings(ownerId, bookingState, cursor, size);
     }
 }
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.booking;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class BookingStreamClient {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int clientQueue;
+    private final ExecutorService senders;
+
+    public BookingStreamClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                               @Value("${shareit-server.stream.max-connections:10000}") int maxConnections,
+                               @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+                               @Value("${shareit-server.stream.idle-timeout:45s}") Duration idleTimeout,
+                               @Value("${shareit-server.stream.timeout:30m}") Duration timeout,
+                               @Value("${shareit-server.stream.client-queue:1000}") int clientQueue,
+                               @Value("${shareit-server.stream.sender-threads:16}") int senderThreads) {
+        this.connectionProvider = ConnectionProvider.builder("shareit-server-stream")
+                .maxConnections(maxConnections)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(idleTimeout);
+        this.webClient = builder.clone()
+                .baseUrl(serverUrl + "/bookings")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.timeout = timeout;
+        this.clientQueue = Math.max(1, clientQueue);
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads),
+                Thread.ofPlatform().name("booking-stream-sender-", 0).daemon().factory());
+    }
+
+    public Mono<ResponseEntity<SseEmitter>> streamOwnerBookings(Long ownerId, @Nullable String lastEventId) {
+        return webClient.get()
+                .uri("/owner/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .headers(headers -> {
+                    if (lastEventId != null) {
+                        headers.set("Last-Event-ID", lastEventId);
+                    }
+                })
+                .retrieve()
+                .toEntityFlux(EVENT_TYPE)
+                .map(response -> ResponseEntity.ok(relay(response.getBody())));
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+        senders.shutdown();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private SseEmitter relay(Flux<ServerSentEvent<String>> events) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.upstream.update(events.subscribe(subscriber::offer, subscriber::finish,
+                () -> subscriber.finish(null)));
+        return emitter;
+    }
+
+    private static void execute(Executor executor, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Поток бронирований остановлен, задача пропущена");
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(ServerSentEvent<String> event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        return builder;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Disposable.Swap upstream = Disposables.swap();
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(clientQueue);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean upstreamDone;
+        @Nullable
+        private volatile Throwable upstreamError;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(ServerSentEvent<String> event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(toEvent(event))) {
+                log.debug("Клиент потока бронирований не успевает читать события и отключён");
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private void finish(@Nullable Throwable error) {
+            upstreamError = error;
+            upstreamDone = true;
+            schedule();
+        }
+
+        private void close() {
+            closed = true;
+            upstream.dispose();
+            pending.clear();
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                execute(senders, this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = closed ? null : pending.poll();
+                if (event == null) {
+                    if (closed || upstreamDone) {
+                        complete();
+                        return;
+                    }
+                    draining.set(false);
+                    if ((closed || upstreamDone || !pending.isEmpty()) && draining.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Клиент потока бронирований отключился: {}", e.getMessage());
+                    closed = true;
+                    upstream.dispose();
+                    if (finished.compareAndSet(false, true)) {
+                        emitter.completeWithError(e);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void complete() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            Throwable error = upstreamError;
+            if (error != null && !closed) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
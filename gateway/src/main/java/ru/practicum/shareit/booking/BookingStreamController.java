@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+public class BookingStreamController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final BookingStreamClient bookingStreamClient;
+
+    @GetMapping("/owner/stream")
+    public Mono<ResponseEntity<SseEmitter>> streamOwnerBookings(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                                @RequestHeader(name = "Last-Event-ID", required = false)
+                                                                String lastEventId) {
+        log.info("Подписка на бронирования владельца: id владельца={}, последнее событие={}", ownerId, lastEventId);
+        return bookingStreamClient.streamOwnerBookings(ownerId, lastEventId);
+    }
+}
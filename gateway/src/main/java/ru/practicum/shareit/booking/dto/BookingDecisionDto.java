@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionDto {
+    @NotNull(message = "Id бронирования должно быть указано")
+    private Long bookingId;
+
+    @NotNull(message = "Решение должно быть указано")
+    private Boolean approved;
+}
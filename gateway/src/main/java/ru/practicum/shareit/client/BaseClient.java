@@ -1,86 +1,180 @@
 package ru.practicum.shareit.client;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+    private static final String UPSTREAM_TIMER = "shareit.gateway.upstream";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
     protected final RestTemplate rest;
+    @Nullable
+    private final WebClient webClient;
+    @Nullable
+    private final ResponseCache.Region responseCache;
+    private final boolean passthrough;
+    private final String clientName = getClass().getSimpleName();
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough) {
+        this(rest, null, passthrough);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, boolean passthrough) {
+        this(rest, webClient, null, passthrough);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, @Nullable ResponseCache.Region responseCache,
+                      boolean passthrough) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.passthrough = passthrough;
+    }
+
+    @Autowired(required = false)
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        Mono<ResponseEntity<Object>> response = timed(method, path, webClient != null
+                ? sendReactiveRequest(webClient, method, path, headers, parameters, body)
+                : Mono.fromSupplier(() -> sendBlockingRequest(method, path, headers, parameters, body)));
+        if (responseCache == null) {
+            return response;
+        }
+        if (method == HttpMethod.GET) {
+            return responseCache.get(path, parameters, userId, headers.getFirst(HttpHeaders.IF_NONE_MATCH), response);
+        }
+        return responseCache.invalidating(response);
+    }
+
+    private Mono<ResponseEntity<Object>> timed(HttpMethod method, String path, Mono<ResponseEntity<Object>> response) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return response
+                    .doOnSuccess(entity -> recordUpstream(method, path, start,
+                            entity != null ? String.valueOf(entity.getStatusCode().value()) : "NONE"))
+                    .doOnError(e -> recordUpstream(method, path, start, "IO_ERROR"));
+        });
+    }
+
+    private void recordUpstream(HttpMethod method, String path, long start, String status) {
+        Timer.builder(UPSTREAM_TIMER)
+                .description("Время ответа shareit-server на запрос шлюза")
+                .tag("client", clientName)
+                .tag("method", method.name())
+                .tag("route", route(path))
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String route(String path) {
+        int query = path.indexOf('?');
+        String route = ID_SEGMENT.matcher(query < 0 ? path : path.substring(0, query)).replaceAll("/{id}");
+        return route.isEmpty() ? "/" : route;
+    }
+
+    private <T> ResponseEntity<Object> sendBlockingRequest(HttpMethod method, String path, HttpHeaders headers,
+                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+        if (passthrough) {
+            return sendPassthroughRequest(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,6 +189,67 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> sendPassthroughRequest(HttpMethod method, String path,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return copyServerResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return copyServerResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private <T> Mono<ResponseEntity<Object>> sendReactiveRequest(WebClient webClient, HttpMethod method, String path,
+                                                                 HttpHeaders headers,
+                                                                 @Nullable Map<String, Object> parameters,
+                                                                 @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(this::readServerResponse);
+    }
+
+    private Mono<ResponseEntity<Object>> readServerResponse(ClientResponse response) {
+        if (!passthrough && response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class);
+        }
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> passthrough
+                        ? copyServerResponse(response.statusCode(), response.headers().asHttpHeaders(), body)
+                        : ResponseEntity.status(response.statusCode())
+                                .eTag(response.headers().asHttpHeaders().getETag())
+                                .<Object>body(body));
+    }
+
+    private static ResponseEntity<Object> copyServerResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                                             @Nullable byte[] body) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    responseHeaders.addAll(name, values);
+                }
+            });
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status).headers(responseHeaders);
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -102,6 +257,12 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            List<String> ifNoneMatch = Collections.list(attributes.getRequest().getHeaders(HttpHeaders.IF_NONE_MATCH));
+            if (!ifNoneMatch.isEmpty()) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+        }
         return headers;
     }
 
@@ -110,7 +271,8 @@ public class BaseClient {
             return response;
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .eTag(response.getHeaders().getETag());
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+public class ResponseCache {
+
+    private final Duration ttl;
+    private final long maxSize;
+    private final Ticker ticker;
+    @Nullable
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseCache(@Value("${shareit-server.cache.ttl:2s}") Duration ttl,
+                         @Value("${shareit-server.cache.max-size:10000}") long maxSize,
+                         @Nullable MeterRegistry meterRegistry) {
+        this(ttl, maxSize, Ticker.systemTicker(), meterRegistry);
+    }
+
+    ResponseCache(Duration ttl, long maxSize, Ticker ticker, @Nullable MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Region forResource(String resource, String... invalidatedResources) {
+        return regions.computeIfAbsent(resource, name -> new Region(name, List.of(invalidatedResources)));
+    }
+
+    public void invalidate(String resource) {
+        Region region = regions.get(resource);
+        if (region != null) {
+            region.responses.synchronous().invalidateAll();
+        }
+    }
+
+    public class Region {
+        private final String resource;
+        private final List<String> invalidatedResources;
+        private final AsyncCache<Key, ResponseEntity<Object>> responses;
+
+        private Region(String resource, List<String> invalidatedResources) {
+            this.resource = resource;
+            this.invalidatedResources = invalidatedResources;
+            this.responses = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .ticker(ticker)
+                    .recordStats()
+                    .buildAsync();
+            if (meterRegistry != null) {
+                CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.responses", "resource", resource);
+            }
+        }
+
+        public Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters,
+                                                @Nullable Long userId, @Nullable String ifNoneMatch,
+                                                Mono<ResponseEntity<Object>> request) {
+            return Mono.defer(() -> {
+                Key key = new Key(path, parameters != null ? parameters : Map.of(), userId, ifNoneMatch);
+                CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+                CompletableFuture<ResponseEntity<Object>> cached = responses.asMap().putIfAbsent(key, response);
+                if (cached != null) {
+                    return Mono.fromFuture(cached, true);
+                }
+                request.toFuture().whenComplete((entity, error) -> {
+                    if (error != null) {
+                        response.completeExceptionally(error);
+                        return;
+                    }
+                    if (entity == null || !isCacheable(entity)) {
+                        responses.asMap().remove(key, response);
+                    }
+                    response.complete(entity);
+                });
+                return Mono.fromFuture(response, true);
+            });
+        }
+
+        private static boolean isCacheable(ResponseEntity<Object> entity) {
+            return entity.getStatusCode().is2xxSuccessful() || entity.getStatusCode() == HttpStatus.NOT_MODIFIED;
+        }
+
+        public Mono<ResponseEntity<Object>> invalidating(Mono<ResponseEntity<Object>> mutation) {
+            return Mono.defer(() -> {
+                invalidate();
+                return mutation;
+            }).doFinally(signal -> invalidate());
+        }
+
+        private void invalidate() {
+            ResponseCache.this.invalidate(resource);
+            invalidatedResources.forEach(ResponseCache.this::invalidate);
+        }
+    }
+
+    private record Key(String path, Map<String, Object> parameters, @Nullable Long userId,
+                       @Nullable String ifNoneMatch) {
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(
+            @Value("${shareit-server.pool.max-total:200}") int maxTotal,
+            @Value("${shareit-server.pool.max-pending:10000}") int maxPending,
+            @Value("${shareit-server.pool.acquire-timeout:5s}") Duration acquireTimeout,
+            @Value("${shareit-server.pool.keep-alive:30s}") Duration keepAlive,
+            @Value("${shareit-server.pool.idle-eviction:30s}") Duration idleEviction,
+            @Value("${shareit-server.pool.time-to-live:5m}") Duration timeToLive) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(acquireTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(timeToLive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient shareitServerWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider shareitServerConnectionProvider,
+            @Value("${shareit-server.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.response-timeout:30s}") Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(shareitServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(responseTimeout);
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
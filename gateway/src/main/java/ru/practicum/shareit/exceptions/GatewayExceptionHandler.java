@@ -1,11 +1,14 @@
 package ru.practicum.shareit.exceptions;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,4 +40,14 @@ public class GatewayExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<byte[]> handleUpstreamError(WebClientResponseException ex) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON);
+        String retryAfter = ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return response.body(ex.getResponseBodyAsByteArray());
+    }
 }
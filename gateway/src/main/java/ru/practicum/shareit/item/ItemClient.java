@@ -4,14 +4,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDtoCreate;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,41 +26,59 @@ public class ItemClient extends BaseClient {
 
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder builder) {
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      @Nullable WebClient webClient,
+                      @Nullable ResponseCache responseCache,
+                      @Value("${shareit-server.passthrough:false}") boolean passthrough) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient == null ? null : webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache == null ? null : responseCache.forResource(API_PREFIX, "/bookings", "/requests"),
+                passthrough
         );
     }
 
-    public ResponseEntity<Object> getOwnerItems(Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnerItems(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemById(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> createItem(NewItemRequest newItemRequest, Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(NewItemRequest newItemRequest, Long userId) {
         return post("", userId, newItemRequest);
     }
 
-    public ResponseEntity<Object> updateItem(Long itemId, ItemDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> createItems(List<NewItemRequest> newItemRequests, Long userId) {
+        return post("/batch", userId, newItemRequests);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Long itemId, ItemDto itemDto, Long userId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> deleteItem(Long itemId) {
+    public Mono<ResponseEntity<Object>> deleteItem(Long itemId) {
         return delete("/" + itemId);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
+    public Mono<ResponseEntity<Object>> searchItems(String text) {
         Map<String, Object> parameters = Map.of("text", text);
         return get("/search?text={text}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, CommentDtoCreate commentDto, Long userId) {
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long itemId, CommentDtoCreate commentDto, Long userId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
\ No newline at end of file
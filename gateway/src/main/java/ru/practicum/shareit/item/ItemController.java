@@ -1,15 +1,22 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDtoCreate;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -17,51 +24,70 @@ import ru.practicum.shareit.item.dto.NewItemRequest;
 @Validated
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getOwnerItems(@RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnerItems(@RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("Запрос на получение всех предметов владельца с id: {}", userId);
         return itemClient.getOwnerItems(userId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getItemById(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable Long id, @RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("Запрос на получение предмета по id: {}", id);
         return itemClient.getItemById(id, userId);
     }
 
+    @GetMapping("/{id}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@PathVariable Long id,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime to) {
+        log.info("Запрос занятости предмета с id: {} с {} по {}", id, from, to);
+        return itemClient.getItemAvailability(id, from, to);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody NewItemRequest newItemRequest,
-                                             @RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Valid @RequestBody NewItemRequest newItemRequest,
+                                                   @RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("Создание нового предмета: {}", newItemRequest.getName());
         return itemClient.createItem(newItemRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid NewItemRequest> newItemRequests,
+            @RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Пакетный импорт предметов владельца {}: {} строк", userId, newItemRequests.size());
+        return itemClient.createItems(newItemRequests, userId);
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@RequestBody ItemDto itemDto,
-                                             @RequestHeader(USER_ID_HEADER) Long userId,
-                                             @PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody ItemDto itemDto,
+                                                   @RequestHeader(USER_ID_HEADER) Long userId,
+                                                   @PathVariable Long id) {
         log.info("Обновление предмета с id: {}", id);
         return itemClient.updateItem(id, itemDto, userId);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteItem(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> deleteItem(@PathVariable Long id) {
         log.info("Удаление предмета с id: {}", id);
         return itemClient.deleteItem(id);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItemsByText(@RequestParam String text) {
+    public Mono<ResponseEntity<Object>> searchItemsByText(@RequestParam String text) {
         log.info("Поиск предметов по тексту: '{}'", text);
         return itemClient.searchItems(text);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable Long itemId, @Valid @RequestBody CommentDtoCreate commentDto,
-                                                @RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> createComment(@PathVariable Long itemId, @Valid @RequestBody CommentDtoCreate commentDto,
+                                                      @RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("Создание комментария для предмета с id: {}", itemId);
         return itemClient.createComment(itemId, commentDto, userId);
     }
@@ -4,40 +4,56 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
     public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
-                             RestTemplateBuilder builder) {
+                             RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             @Nullable WebClient webClient,
+                             @Nullable ResponseCache responseCache,
+                             @Value("${shareit-server.passthrough:false}") boolean passthrough) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                webClient == null ? null : webClient.mutate()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache == null ? null : responseCache.forResource(API_PREFIX),
+                passthrough
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestCreateDto requestDto) {
+    public Mono<ResponseEntity<Object>> createItemRequest(Long userId, ItemRequestCreateDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getUserItemRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getUserItemRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getOtherUsersItemRequests(Long userId) {
-        return get("/all", userId);
+    public Mono<ResponseEntity<Object>> getOtherUsersItemRequests(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
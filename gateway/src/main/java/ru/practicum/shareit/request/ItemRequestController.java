@@ -1,11 +1,15 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 @RestController
@@ -18,7 +22,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public Mono<ResponseEntity<Object>> createItemRequest(
             @RequestBody @Valid ItemRequestCreateDto requestDto,
             @RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("[POST] Создание запроса на вещь. Пользователь id: {}, Описание: {}", userId,
@@ -27,20 +31,24 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getUserItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("[GET] Получение запросов пользователя с ID: {}", userId);
         return itemRequestClient.getUserItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherUsersItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
-        log.info("[GET] Получение списка запросов других пользователей. Пользователь id: {}", userId);
-        return itemRequestClient.getOtherUsersItemRequests(userId);
+    public Mono<ResponseEntity<Object>> getOtherUsersItemRequests(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "100") @Positive @Max(1000) Integer size) {
+        log.info("[GET] Получение списка запросов других пользователей. Пользователь id: {}, from: {}, size: {}",
+                userId, from, size);
+        return itemRequestClient.getOtherUsersItemRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@PathVariable Long requestId,
-                                                     @RequestHeader(USER_ID_HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(@PathVariable Long requestId,
+                                                           @RequestHeader(USER_ID_HEADER) Long userId) {
         log.info("[GET] Получение запроса ID: {}. Запросил пользователь ID: {}", requestId, userId);
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
@@ -1,41 +1,58 @@
 package ru.practicum.shareit.user;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class UserController {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         log.info("Запрос на получение списка всех пользователей");
         return userClient.findAll();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable Long id) {
         log.info("Запрос на получение пользователя с id: {}", id);
         return userClient.getUserById(id);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(
+    public Mono<ResponseEntity<Object>> createUser(
             @Validated(UserDto.CreateValidation.class) @RequestBody UserDto userDto) {
         log.info("Создание нового пользователя: name={}, email={}", userDto.getName(), userDto.getEmail());
         return userClient.createUser(userDto);
     }
 
+    @PostMapping("/batch")
+    @Validated({Default.class, UserDto.CreateValidation.class})
+    public Mono<ResponseEntity<Object>> createUsers(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid UserDto> users) {
+        log.info("Пакетное создание пользователей: {} строк", users.size());
+        return userClient.createUsers(users);
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @Validated(UserDto.UpdateValidation.class) @RequestBody UserDto userDto,
             @PathVariable Long id) {
         log.info("Обновление данных пользователя с id={}, новое имя={}, новый email={}",
@@ -44,7 +61,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
         log.info("Удаление пользователя с id={}", id);
         return userClient.deleteUser(id);
     }
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -8,8 +10,10 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.time.LocalDateTime;
@@ -28,6 +32,9 @@ class BookingClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
     private BookingClient bookingClient;
 
     private BookItemRequestDto bookItemRequestDto;
@@ -38,7 +45,7 @@ class BookingClientTest {
         when(builder.build()).thenReturn(restTemplate);
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
-        bookingClient = new BookingClient("http://localhost", builder);
+        bookingClient = new BookingClient("http://localhost", builder, requestFactory, null, null, false);
         bookItemRequestDto = new BookItemRequestDto(
                 1L,
                 LocalDateTime.now().plusDays(1),
@@ -52,7 +59,7 @@ class BookingClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = bookingClient.createBooking(1L, bookItemRequestDto);
+        ResponseEntity<Object> result = bookingClient.createBooking(1L, bookItemRequestDto).block();
 
         assertThat(result.getBody()).isEqualTo("created");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
@@ -65,7 +72,7 @@ class BookingClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = bookingClient.getBooking(1L, 99L);
+        ResponseEntity<Object> result = bookingClient.getBooking(1L, 99L).block();
 
         assertThat(result.getBody()).isEqualTo("booking");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -78,20 +85,57 @@ class BookingClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class),
                 anyMap())).thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = bookingClient.approveBooking(1L, 99L, true);
+        ResponseEntity<Object> result = bookingClient.approveBooking(1L, 99L, true).block();
 
         assertThat(result.getBody()).isEqualTo("approved");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.PATCH),
                 any(HttpEntity.class), eq(Object.class), anyMap());
     }
 
+    @Test
+    void testUpstreamLatencyIsRecordedPerRoute() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bookingClient.setMeterRegistry(registry);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class),
+                anyMap())).thenReturn(ResponseEntity.ok().body("approved"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.status(404).build());
+
+        bookingClient.approveBooking(1L, 99L, true).block();
+        bookingClient.approveBooking(1L, 100L, false).block();
+        bookingClient.getBooking(1L, 99L).block();
+
+        Timer approve = registry.get("shareit.gateway.upstream")
+                .tags("client", "BookingClient", "method", "PATCH", "route", "/{id}", "status", "200")
+                .timer();
+        assertThat(approve.count()).isEqualTo(2);
+        assertThat(registry.get("shareit.gateway.upstream")
+                .tags("method", "GET", "route", "/{id}", "status", "404")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testApproveBookings() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(99L, true));
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of("UPDATED"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> result = bookingClient.approveBookings(1L, decisions).block();
+
+        assertThat(result.getBody()).isEqualTo(List.of("UPDATED"));
+        verify(restTemplate, times(1)).exchange(eq("/batch"), eq(HttpMethod.PATCH),
+                argThat(entity -> decisions.equals(entity.getBody())
+                        && "1".equals(entity.getHeaders().getFirst("X-Sharer-User-Id"))), eq(Object.class));
+    }
+
     @Test
     void testGetUserBookings() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of("booking1", "booking2"));
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = bookingClient.getUserBookings(1L, BookingState.ALL);
+        ResponseEntity<Object> result = bookingClient.getUserBookings(1L, BookingState.ALL, null, 100).block();
 
         assertThat(result.getBody()).isEqualTo(List.of("booking1", "booking2"));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -104,7 +148,7 @@ class BookingClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = bookingClient.getOwnerBookings(1L, BookingState.ALL);
+        ResponseEntity<Object> result = bookingClient.getOwnerBookings(1L, BookingState.ALL, "abc", 100).block();
 
         assertThat(result.getBody()).isEqualTo(List.of("ownerBooking1", "ownerBooking2"));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
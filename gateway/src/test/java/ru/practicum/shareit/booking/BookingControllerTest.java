@@ -7,11 +7,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -41,9 +47,9 @@ class BookingControllerTest {
     @Test
     void createBookingValidDataReturnsOk() throws Exception {
         when(bookingClient.createBooking(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(post("/bookings")
+        performAsync(post("/bookings")
                         .header(USER_ID_HEADER, 1L)
                         .content(mapper.writeValueAsString(validRequest))
                         .contentType(MediaType.APPLICATION_JSON)
@@ -73,9 +79,9 @@ class BookingControllerTest {
     @Test
     void getBookingExistsReturnsOk() throws Exception {
         when(bookingClient.getBooking(anyLong(), anyLong()))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/bookings/1")
+        performAsync(get("/bookings/1")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -86,9 +92,9 @@ class BookingControllerTest {
     @Test
     void approveBookingValidReturnsOk() throws Exception {
         when(bookingClient.approveBooking(anyLong(), anyLong(), anyBoolean()))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(patch("/bookings/1?approved=true")
+        performAsync(patch("/bookings/1?approved=true")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -96,30 +102,88 @@ class BookingControllerTest {
         verify(bookingClient, times(1)).approveBooking(eq(1L), eq(1L), eq(true));
     }
 
+    @Test
+    void approveBookingsValidBatchReturnsOk() throws Exception {
+        when(bookingClient.approveBookings(anyLong(), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(patch("/bookings/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .content("[{\"bookingId\":5,\"approved\":true},{\"bookingId\":6,\"approved\":false}]")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingClient, times(1)).approveBookings(eq(1L), argThat(decisions -> decisions.size() == 2
+                && decisions.get(0).getBookingId() == 5L && !decisions.get(1).getApproved()));
+        verify(bookingClient, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    void approveBookingsWithoutDecisionReturnsBadRequest() throws Exception {
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .content("[{\"bookingId\":5}]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
     @Test
     void getUserBookingsValidStateReturnsOk() throws Exception {
-        when(bookingClient.getUserBookings(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok().build());
+        when(bookingClient.getUserBookings(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/bookings?state=ALL")
+        performAsync(get("/bookings?state=ALL")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getUserBookings(eq(1L), eq(BookingState.ALL));
+        verify(bookingClient, times(1)).getUserBookings(eq(1L), eq(BookingState.ALL), isNull(), eq(100));
     }
 
 
     @Test
     void getOwnerBookingsValidStateReturnsOk() throws Exception {
-        when(bookingClient.getOwnerBookings(anyLong(), any()))
-                .thenReturn(ResponseEntity.ok().build());
+        when(bookingClient.getOwnerBookings(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/bookings/owner?state=FUTURE")
+        performAsync(get("/bookings/owner?state=FUTURE")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(bookingClient, times(1)).getOwnerBookings(eq(1L), eq(BookingState.FUTURE));
+        verify(bookingClient, times(1)).getOwnerBookings(eq(1L), eq(BookingState.FUTURE), isNull(), eq(100));
+    }
+
+    @Test
+    void getOwnerBookingsPassesCursorAndSize() throws Exception {
+        when(bookingClient.getOwnerBookings(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings/owner?state=WAITING&cursor=abc&size=20")
+                        .header(USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(bookingClient, times(1)).getOwnerBookings(eq(1L), eq(BookingState.WAITING), eq("abc"), eq(20));
+    }
+
+    @Test
+    void getUserBookingsWithTooLargePageReturnsBadRequest() throws Exception {
+        mvc.perform(get("/bookings?size=5000")
+                        .header(USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).getUserBookings(anyLong(), any(), any(), anyInt());
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
     }
-}
\ No newline at end of file
+}
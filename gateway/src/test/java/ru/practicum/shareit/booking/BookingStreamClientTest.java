@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingStreamClientTest {
+
+    private final List<String> sendThreads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch stalledWrite = new CountDownLatch(1);
+    private volatile int upstreamStatus = 200;
+    private volatile int upstreamEvents = 2;
+    private volatile Supplier<SseEmitter> emitters = RecordingEmitter::new;
+    private HttpServer stubServer;
+    private BookingStreamClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/bookings/owner/stream", this::handle);
+        stubServer.start();
+        client = new BookingStreamClient("http://localhost:" + stubServer.getAddress().getPort(),
+                WebClient.builder(), 10, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMinutes(1), 2, 2) {
+            @Override
+            SseEmitter newEmitter() {
+                return emitters.get();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        stalledWrite.countDown();
+        client.close();
+        stubServer.stop(0);
+    }
+
+    @Test
+    void eventsAreWrittenOffTheEventLoop() throws InterruptedException {
+        client.streamOwnerBookings(1L, null).block(Duration.ofSeconds(5));
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sendThreads).hasSize(2)
+                .noneMatch(thread -> thread.startsWith("reactor-http"))
+                .allMatch(thread -> thread.startsWith("booking-stream-sender"));
+    }
+
+    @Test
+    void upstreamErrorStatusIsReportedBeforeStreamStarts() {
+        upstreamStatus = 503;
+
+        assertThatThrownBy(() -> client.streamOwnerBookings(1L, null).block(Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(WebClientResponseException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(e.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+                });
+        assertThat(sendThreads).isEmpty();
+    }
+
+    @Test
+    void clientThatFallsBehindIsDisconnected() throws InterruptedException {
+        upstreamEvents = 20;
+        emitters = StalledEmitter::new;
+
+        client.streamOwnerBookings(1L, null).block(Duration.ofSeconds(5));
+        Thread.sleep(200);
+        stalledWrite.countDown();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sendThreads).hasSizeLessThanOrEqualTo(2);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (upstreamStatus != 200) {
+            byte[] body = "{\"error\":\"too many streams\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Retry-After", "1");
+            exchange.sendResponseHeaders(upstreamStatus, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+            return;
+        }
+        StringBuilder events = new StringBuilder();
+        for (int i = 1; i <= upstreamEvents; i++) {
+            events.append("id:").append(i).append("\nevent:BOOKING_CREATED\ndata:{\"id\":").append(i).append("}\n\n");
+        }
+        byte[] body = events.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            sendThreads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    private final class StalledEmitter extends RecordingEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            super.send(builder);
+            try {
+                stalledWrite.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
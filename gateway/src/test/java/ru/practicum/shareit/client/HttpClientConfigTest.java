@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    @Test
+    void connectionManagerUsesConfiguredLimits() {
+        try (PoolingHttpClientConnectionManager manager = config.shareitServerConnectionManager(50, 20,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofSeconds(2))) {
+            assertThat(manager.getMaxTotal()).isEqualTo(50);
+            assertThat(manager.getDefaultMaxPerRoute()).isEqualTo(20);
+        }
+    }
+
+    @Test
+    void poolMetricsAreBoundToRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (PoolingHttpClientConnectionManager manager = config.shareitServerConnectionManager(50, 20,
+                Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofSeconds(2))) {
+            config.shareitServerPoolMetrics(manager).bindTo(registry);
+
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(50);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = ShareItGateway.class,
+        properties = {"shareit-server.client=reactive", "shareit-server.cache.enabled=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveClientModeTest {
+
+    private static final String ITEM = "{\"id\":1,\"name\":\"Дрель\"}";
+    private static final String ITEM_TAG = "\"v1\"";
+    private static final HttpServer STUB_SERVER = startStubServer();
+    private static final AtomicInteger SERVER_CALLS = new AtomicInteger();
+
+    private static volatile String lastMethod;
+    private static volatile String lastUri;
+    private static volatile String lastUserId;
+    private static volatile String lastBody;
+    private static volatile String lastIfNoneMatch;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired(required = false)
+    private WebClient shareitServerWebClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + STUB_SERVER.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        lastMethod = null;
+        lastUri = null;
+        lastUserId = null;
+        lastBody = null;
+        lastIfNoneMatch = null;
+        SERVER_CALLS.set(0);
+    }
+
+    @Test
+    void reactiveModeCreatesWebClient() {
+        assertThat(shareitServerWebClient).isNotNull();
+    }
+
+    @Test
+    void getItemByIdIsProxiedThroughWebClient() throws Exception {
+        performAsync(get("/items/1").header("X-Sharer-User-Id", 7L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(ITEM.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(header().doesNotExist("Transfer-Encoding"));
+
+        assertThat(lastMethod).isEqualTo("GET");
+        assertThat(lastUri).isEqualTo("/items/1");
+        assertThat(lastUserId).isEqualTo("7");
+    }
+
+    @Test
+    void searchParametersAreExpandedIntoQuery() throws Exception {
+        performAsync(get("/items/search").param("text", "дрель"))
+                .andExpect(status().isOk());
+
+        assertThat(lastUri).isEqualTo("/items/search?text=дрель");
+        assertThat(lastUserId).isNull();
+    }
+
+    @Test
+    void requestBodyIsForwarded() throws Exception {
+        performAsync(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"User\",\"email\":\"user@example.com\"}"))
+                .andExpect(status().isCreated());
+
+        assertThat(lastMethod).isEqualTo("POST");
+        assertThat(lastBody).contains("\"email\":\"user@example.com\"");
+    }
+
+    @Test
+    void repeatedGetIsServedFromCacheUntilMutation() throws Exception {
+        performAsync(get("/requests/5").header("X-Sharer-User-Id", 3L)).andExpect(status().isOk());
+        performAsync(get("/requests/5").header("X-Sharer-User-Id", 3L)).andExpect(status().isOk());
+        performAsync(get("/requests/5").header("X-Sharer-User-Id", 4L)).andExpect(status().isOk());
+        assertThat(SERVER_CALLS).hasValue(2);
+
+        performAsync(post("/items")
+                .header("X-Sharer-User-Id", 3L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Дрель\",\"description\":\"Мощная\",\"available\":true,\"requestId\":5}"))
+                .andExpect(status().isCreated());
+        performAsync(get("/requests/5").header("X-Sharer-User-Id", 3L)).andExpect(status().isOk());
+
+        assertThat(SERVER_CALLS).hasValue(4);
+    }
+
+    @Test
+    void conditionalGetIsForwardedAndNotModifiedIsPassedThrough() throws Exception {
+        performAsync(get("/items/1").header("X-Sharer-User-Id", 7L).header("If-None-Match", ITEM_TAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ITEM_TAG))
+                .andExpect(content().string(""));
+
+        assertThat(lastIfNoneMatch).isEqualTo(ITEM_TAG);
+    }
+
+    @Test
+    void serverErrorIsCopiedToGatewayResponse() throws Exception {
+        performAsync(get("/items/404").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{\"error\":\"Предмет не найден\"}"));
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+
+    private static HttpServer startStubServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", ReactiveClientModeTest::handle);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        SERVER_CALLS.incrementAndGet();
+        lastMethod = exchange.getRequestMethod();
+        URI uri = exchange.getRequestURI();
+        lastUri = uri.getQuery() == null ? uri.getPath() : uri.getPath() + "?" + uri.getQuery();
+        lastUserId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+        lastBody = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        lastIfNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+
+        if (lastUri.equals("/items/1") && ITEM_TAG.equals(lastIfNoneMatch)) {
+            exchange.getResponseHeaders().add("ETag", ITEM_TAG);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        int status = 200;
+        String body = ITEM;
+        if (lastUri.equals("/items/404")) {
+            status = 404;
+            body = "{\"error\":\"Предмет не найден\"}";
+        } else if (lastMethod.equals("POST")) {
+            status = 201;
+            body = lastBody;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ResponseCache cache = new ResponseCache(Duration.ofSeconds(2), 100, nanos::get, null);
+    private final ResponseCache.Region items = cache.forResource("/items", "/requests");
+    private final ResponseCache.Region requests = cache.forResource("/requests");
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void repeatedGetIsServedFromCache() {
+        ResponseEntity<Object> first = items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+        ResponseEntity<Object> second = items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void userIdAndParametersArePartOfKey() {
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+        items.get("/1", null, 2L, null, serverResponse(HttpStatus.OK)).block();
+        items.get("/search?text={text}", Map.of("text", "дрель"), null, null, serverResponse(HttpStatus.OK)).block();
+        items.get("/search?text={text}", Map.of("text", "пила"), null, null, serverResponse(HttpStatus.OK)).block();
+        items.get("/search?text={text}", Map.of("text", "пила"), null, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void conditionalRequestsAreCachedSeparately() {
+        Mono<ResponseEntity<Object>> notModified = Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("v1").build();
+        });
+
+        ResponseEntity<Object> first = items.get("/1", null, 1L, "\"v1\"", notModified).block();
+        ResponseEntity<Object> second = items.get("/1", null, 1L, "\"v1\"", notModified).block();
+        ResponseEntity<Object> full = items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second).isSameAs(first);
+        assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+        nanos.addAndGet(Duration.ofSeconds(3).toNanos());
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void errorResponsesAreNotCached() {
+        ResponseEntity<Object> response = items.get("/1", null, 1L, null, serverResponse(HttpStatus.NOT_FOUND)).block();
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.NOT_FOUND)).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void failedRequestsAreNotCached() {
+        Mono<ResponseEntity<Object>> failure = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("Сервер недоступен"));
+        });
+
+        items.get("/1", null, 1L, null, failure).onErrorResume(e -> Mono.empty()).block();
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void concurrentGetsShareOneServerCall() {
+        Sinks.One<ResponseEntity<Object>> server = Sinks.one();
+        Mono<ResponseEntity<Object>> pending = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return server.asMono();
+        });
+
+        Mono<ResponseEntity<Object>> first = items.get("/1", null, 1L, null, pending).cache();
+        Mono<ResponseEntity<Object>> second = items.get("/1", null, 1L, null, pending).cache();
+        first.subscribe();
+        second.subscribe();
+        server.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertThat(first.block().getBody()).isEqualTo("item");
+        assertThat(second.block().getBody()).isEqualTo("item");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void mutationInvalidatesOwnAndDependentResources() {
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+        requests.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        items.invalidating(serverResponse(HttpStatus.OK)).block();
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+        requests.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(calls).hasValue(5);
+    }
+
+    @Test
+    void mutationDoesNotInvalidateUnrelatedResources() {
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        requests.invalidating(serverResponse(HttpStatus.CREATED)).block();
+        items.get("/1", null, 1L, null, serverResponse(HttpStatus.OK)).block();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private Mono<ResponseEntity<Object>> serverResponse(HttpStatus status) {
+        return Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return ResponseEntity.status(status).body("response " + calls.get());
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningTest {
+
+    private static final int REQUESTS = 200;
+    private static final int POOL_SIZE = 10;
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubExecutor = Executors.newFixedThreadPool(POOL_SIZE);
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1,\"name\":\"User\",\"email\":\"user@example.com\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+
+        connectionManager = config.shareitServerConnectionManager(POOL_SIZE, POOL_SIZE, Duration.ofSeconds(2),
+                Duration.ofMinutes(5), Duration.ofSeconds(2));
+        httpClient = config.shareitServerHttpClient(connectionManager, Duration.ofSeconds(30),
+                Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void baseClientDoesNotPinCarrierThreadsWhileWaitingForServer(@TempDir Path directory) throws Exception {
+        UserClient client = new UserClient("http://localhost:" + stubServer.getAddress().getPort(),
+                new RestTemplateBuilder(), config.shareitServerRequestFactory(httpClient), null, null, true);
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+
+        Path dump = directory.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<ResponseEntity<Object>>> futures = new ArrayList<>();
+                for (long id = 1; id <= REQUESTS; id++) {
+                    long userId = id;
+                    futures.add(executor.submit(() -> client.getUserById(userId).block()));
+                }
+                for (Future<ResponseEntity<Object>> future : futures) {
+                    responses.add(future.get());
+                }
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> "jdk.VirtualThreadPinned".equals(event.getEventType().getName()))
+                .toList();
+        assertThat(responses).hasSize(REQUESTS)
+                .allSatisfy(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK));
+        assertThat(pinned).as("pinned virtual threads: %s", pinned).isEmpty();
+    }
+}
@@ -4,12 +4,15 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import ru.practicum.shareit.exceptions.GatewayExceptionHandler;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,4 +81,19 @@ class GatewayExceptionHandlerTest {
         assertThat(response.getStatusCodeValue()).isEqualTo(400);
         assertThat(response.getBody()).containsEntry("error", "Unknown state: UNSUPPORTED");
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleUpstreamError_shouldKeepServerStatusAndRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        byte[] body = "{\"error\":\"Service Unavailable\"}".getBytes(StandardCharsets.UTF_8);
+        WebClientResponseException ex = WebClientResponseException.create(503, "Service Unavailable", headers,
+                body, StandardCharsets.UTF_8);
+
+        ResponseEntity<byte[]> response = handler.handleUpstreamError(ex);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isEqualTo(body);
+    }
+}
@@ -1,20 +1,34 @@
 package ru.practicum.shareit.item;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDtoCreate;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +43,9 @@ class ItemClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
     private ItemClient itemClient;
 
     private NewItemRequest newItemRequest;
@@ -41,7 +58,7 @@ class ItemClientTest {
         when(builder.build()).thenReturn(restTemplate);
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
-        itemClient = new ItemClient("http://localhost", builder);
+        itemClient = new ItemClient("http://localhost", builder, requestFactory, null, null, false);
 
         newItemRequest = new NewItemRequest();
         newItemRequest.setName("Дрель");
@@ -60,13 +77,18 @@ class ItemClientTest {
         commentDtoCreate = new CommentDtoCreate("Отличная вещь!");
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     void testGetOwnerItems() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of(itemDto));
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.getOwnerItems(1L);
+        ResponseEntity<Object> result = itemClient.getOwnerItems(1L).block();
 
         assertThat(result.getBody()).isEqualTo(List.of(itemDto));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -79,7 +101,7 @@ class ItemClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.getItemById(1L, 1L);
+        ResponseEntity<Object> result = itemClient.getItemById(1L, 1L).block();
 
         assertThat(result.getBody()).isEqualTo(itemDto);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -92,7 +114,7 @@ class ItemClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.createItem(newItemRequest, 1L);
+        ResponseEntity<Object> result = itemClient.createItem(newItemRequest, 1L).block();
 
         assertThat(result.getBody()).isEqualTo(itemDto);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
@@ -105,7 +127,7 @@ class ItemClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.updateItem(1L, itemDto, 1L);
+        ResponseEntity<Object> result = itemClient.updateItem(1L, itemDto, 1L).block();
 
         assertThat(result.getBody()).isEqualTo(itemDto);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.PATCH),
@@ -118,7 +140,7 @@ class ItemClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.deleteItem(1L);
+        ResponseEntity<Object> result = itemClient.deleteItem(1L).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.DELETE),
@@ -131,23 +153,128 @@ class ItemClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.searchItems("дрель");
+        ResponseEntity<Object> result = itemClient.searchItems("дрель").block();
 
         assertThat(result.getBody()).isEqualTo(List.of(itemDto));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
                 any(HttpEntity.class), eq(Object.class), anyMap());
     }
 
+    @Test
+    void testCreateItems() {
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of("CREATED"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> result = itemClient.createItems(List.of(newItemRequest), 1L).block();
+
+        assertThat(result.getBody()).isEqualTo(List.of("CREATED"));
+        verify(restTemplate, times(1)).exchange(eq("/batch"), eq(HttpMethod.POST),
+                argThat(entity -> List.of(newItemRequest).equals(entity.getBody())), eq(Object.class));
+    }
+
+    @Test
+    void testGetItemAvailability() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok().body("Свободно");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> result = itemClient.getItemAvailability(1L, from, to).block();
+
+        assertThat(result.getBody()).isEqualTo("Свободно");
+        verify(restTemplate, times(1)).exchange(eq("/1/availability?from={from}&to={to}"), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(Object.class), eq(Map.of("from", from, "to", to)));
+    }
+
     @Test
     void testCreateComment() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok().body("Комментарий добавлен");
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemClient.createComment(1L, commentDtoCreate, 1L);
+        ResponseEntity<Object> result = itemClient.createComment(1L, commentDtoCreate, 1L).block();
 
         assertThat(result.getBody()).isEqualTo("Комментарий добавлен");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
                 any(HttpEntity.class), eq(Object.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetItemByIdIsCachedUntilItemUpdated() {
+        ItemClient cachingClient = new ItemClient("http://localhost", builder, requestFactory, null,
+                new ResponseCache(Duration.ofMinutes(1), 100, null), false);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().body(itemDto));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().body(itemDto));
+
+        cachingClient.getItemById(1L, 1L).block();
+        cachingClient.getItemById(1L, 1L).block();
+        cachingClient.updateItem(1L, itemDto, 1L).block();
+        ResponseEntity<Object> result = cachingClient.getItemById(1L, 1L).block();
+
+        assertThat(result.getBody()).isEqualTo(itemDto);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(Object.class));
+    }
+
+    @Test
+    void testGetItemByIdPassthroughCopiesServerResponse() {
+        ItemClient passthroughClient = new ItemClient("http://localhost", builder, requestFactory, null, null, true);
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(body, headers, HttpStatus.OK));
+
+        ResponseEntity<Object> result = passthroughClient.getItemById(1L, 1L).block();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isSameAs(body);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(result.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+        verify(restTemplate, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class),
+                eq(Object.class));
+    }
+
+    @Test
+    void testSearchItemsPassthroughCopiesErrorResponse() {
+        ItemClient passthroughClient = new ItemClient("http://localhost", builder, requestFactory, null, null, true);
+        byte[] body = "{\"error\":\"Not found\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), anyMap()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", headers, body,
+                        StandardCharsets.UTF_8));
+
+        ResponseEntity<Object> result = passthroughClient.searchItems("дрель").block();
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(result.getBody()).isEqualTo(body);
+        assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testGetItemByIdForwardsIfNoneMatchAndPassesNotModifiedThrough() {
+        ItemClient passthroughClient = new ItemClient("http://localhost", builder, requestFactory, null, null, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED));
+
+        ResponseEntity<Object> result = passthroughClient.getItemById(1L, 1L).block();
+
+        ArgumentCaptor<HttpEntity<?>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq("/1"), eq(HttpMethod.GET), entity.capture(), eq(byte[].class));
+        assertThat(entity.getValue().getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(result.hasBody()).isFalse();
+    }
+}
@@ -8,13 +8,19 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoCreate;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemRequest;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -46,9 +52,9 @@ class ItemControllerTest {
     @Test
     void getOwnerItemsReturnsListOfItems() throws Exception {
         when(itemClient.getOwnerItems(1L))
-                .thenReturn(ResponseEntity.ok(List.of(testItem)));
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of(testItem))));
 
-        mvc.perform(get("/items")
+        performAsync(get("/items")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -63,9 +69,9 @@ class ItemControllerTest {
     @Test
     void getItemByIdExistsReturnsItem() throws Exception {
         when(itemClient.getItemById(1L, 1L))
-                .thenReturn(ResponseEntity.ok(testItem));
+                .thenReturn(Mono.just(ResponseEntity.ok(testItem)));
 
-        mvc.perform(get("/items/1")
+        performAsync(get("/items/1")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -76,12 +82,28 @@ class ItemControllerTest {
         verify(itemClient, times(1)).getItemById(1L, 1L);
     }
 
+    @Test
+    void getItemByIdWritesServerBytesUnchanged() throws Exception {
+        byte[] body = mapper.writeValueAsBytes(testItem);
+        when(itemClient.getItemById(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)));
+
+        performAsync(get("/items/1")
+                        .header(USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+
+        verify(itemClient, times(1)).getItemById(1L, 1L);
+    }
+
     @Test
     void createItemValidDataReturnsItem() throws Exception {
         when(itemClient.createItem(any(), eq(1L)))
-                .thenReturn(ResponseEntity.ok(testItem));
+                .thenReturn(Mono.just(ResponseEntity.ok(testItem)));
 
-        mvc.perform(post("/items")
+        performAsync(post("/items")
                         .header(USER_ID_HEADER, 1L)
                         .content(mapper.writeValueAsString(testItem))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -114,9 +136,9 @@ class ItemControllerTest {
         ItemDto updatedItem = new ItemDto(1L, "Updated Item", "Updated Description",
                 1L, 1L, false, List.of());
         when(itemClient.updateItem(eq(1L), any(), eq(1L)))
-                .thenReturn(ResponseEntity.ok(updatedItem));
+                .thenReturn(Mono.just(ResponseEntity.ok(updatedItem)));
 
-        mvc.perform(patch("/items/1")
+        performAsync(patch("/items/1")
                         .header(USER_ID_HEADER, 1L)
                         .content(mapper.writeValueAsString(updatedItem))
                         .contentType(MediaType.APPLICATION_JSON)
@@ -132,9 +154,9 @@ class ItemControllerTest {
     @Test
     void deleteItemExistsReturnsOk() throws Exception {
         when(itemClient.deleteItem(1L))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(delete("/items/1"))
+        performAsync(delete("/items/1"))
                 .andExpect(status().isOk());
 
         verify(itemClient, times(1)).deleteItem(1L);
@@ -143,9 +165,9 @@ class ItemControllerTest {
     @Test
     void searchItemsByTextReturnsListOfItems() throws Exception {
         when(itemClient.searchItems("test"))
-                .thenReturn(ResponseEntity.ok(List.of(testItem)));
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of(testItem))));
 
-        mvc.perform(get("/items/search?text=test")
+        performAsync(get("/items/search?text=test")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
@@ -155,13 +177,74 @@ class ItemControllerTest {
         verify(itemClient, times(1)).searchItems("test");
     }
 
+    @Test
+    void createItemsForwardsValidBatch() throws Exception {
+        NewItemRequest newItem = new NewItemRequest();
+        newItem.setName("Дрель");
+        newItem.setDescription("Мощная");
+        newItem.setAvailable(true);
+        when(itemClient.createItems(List.of(newItem), 1L))
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of(Map.of("index", 0, "status", "CREATED")))));
+
+        performAsync(post("/items/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .content(mapper.writeValueAsString(List.of(newItem)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")));
+
+        verify(itemClient, times(1)).createItems(List.of(newItem), 1L);
+    }
+
+    @Test
+    void createItemsWithInvalidRowReturnsBadRequest() throws Exception {
+        NewItemRequest newItem = new NewItemRequest();
+        newItem.setName("Дрель");
+
+        mvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .content(mapper.writeValueAsString(List.of(newItem)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void getItemAvailabilityForwardsInterval() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemClient.getItemAvailability(1L, from, to))
+                .thenReturn(Mono.just(ResponseEntity.ok(Map.of("available", true))));
+
+        performAsync(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available", is(true)));
+
+        verify(itemClient, times(1)).getItemAvailability(1L, from, to);
+    }
+
+    @Test
+    void getItemAvailabilityWithMalformedDateReturnsBadRequest() throws Exception {
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "завтра")
+                        .param("to", "2030-01-02T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
     @Test
     void createCommentValidDataReturnsComment() throws Exception {
         CommentDtoCreate commentDto = new CommentDtoCreate("Test comment");
         when(itemClient.createComment(eq(1L), any(), eq(1L)))
-                .thenReturn(ResponseEntity.ok(testComment));
+                .thenReturn(Mono.just(ResponseEntity.ok(testComment)));
 
-        mvc.perform(post("/items/1/comment")
+        performAsync(post("/items/1/comment")
                         .header(USER_ID_HEADER, 1L)
                         .content(mapper.writeValueAsString(commentDto))
                         .contentType(MediaType.APPLICATION_JSON)
@@ -187,4 +270,11 @@ class ItemControllerTest {
 
         verify(itemClient, never()).createComment(anyLong(), any(), anyLong());
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
@@ -26,6 +27,9 @@ class ItemRequestClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
     private ItemRequestClient itemRequestClient;
 
     private ItemRequestCreateDto requestDto;
@@ -36,7 +40,7 @@ class ItemRequestClientTest {
         when(builder.build()).thenReturn(restTemplate);
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
-        itemRequestClient = new ItemRequestClient("http://localhost", builder);
+        itemRequestClient = new ItemRequestClient("http://localhost", builder, requestFactory, null, null, false);
         requestDto = new ItemRequestCreateDto("Нужна дрель");
     }
 
@@ -46,7 +50,7 @@ class ItemRequestClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemRequestClient.createItemRequest(1L, requestDto);
+        ResponseEntity<Object> result = itemRequestClient.createItemRequest(1L, requestDto).block();
 
         assertThat(result.getBody()).isEqualTo("created");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
@@ -59,7 +63,7 @@ class ItemRequestClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemRequestClient.getUserItemRequests(1L);
+        ResponseEntity<Object> result = itemRequestClient.getUserItemRequests(1L).block();
 
         assertThat(result.getBody()).isEqualTo(List.of("request1", "request2"));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -69,14 +73,14 @@ class ItemRequestClientTest {
     @Test
     void testGetOtherUsersItemRequests() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of("other1", "other2"));
-        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class), anyMap()))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemRequestClient.getOtherUsersItemRequests(1L);
+        ResponseEntity<Object> result = itemRequestClient.getOtherUsersItemRequests(1L, 0, 10).block();
 
         assertThat(result.getBody()).isEqualTo(List.of("other1", "other2"));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
-                any(HttpEntity.class), eq(Object.class));
+                any(HttpEntity.class), eq(Object.class), anyMap());
     }
 
     @Test
@@ -85,7 +89,7 @@ class ItemRequestClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = itemRequestClient.getItemRequestById(1L, 99L);
+        ResponseEntity<Object> result = itemRequestClient.getItemRequestById(1L, 99L).block();
 
         assertThat(result.getBody()).isEqualTo("requestById");
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
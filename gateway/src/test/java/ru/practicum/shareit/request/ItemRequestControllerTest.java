@@ -7,6 +7,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
@@ -34,9 +38,9 @@ class ItemRequestControllerTest {
     @Test
     void createItemRequestWithValidDataReturnsOk() throws Exception {
         when(itemRequestClient.createItemRequest(anyLong(), any(ItemRequestCreateDto.class)))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(post("/requests")
+        performAsync(post("/requests")
                         .header(USER_ID_HEADER, 1L)
                         .content(mapper.writeValueAsString(testRequest))
                         .contentType(MediaType.APPLICATION_JSON)
@@ -74,9 +78,9 @@ class ItemRequestControllerTest {
     @Test
     void getUserItemRequestsReturnsOk() throws Exception {
         when(itemRequestClient.getUserItemRequests(1L))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -86,23 +90,33 @@ class ItemRequestControllerTest {
 
     @Test
     void getOtherUsersItemRequestsReturnsOk() throws Exception {
-        when(itemRequestClient.getOtherUsersItemRequests(1L))
-                .thenReturn(ResponseEntity.ok().build());
+        when(itemRequestClient.getOtherUsersItemRequests(1L, 0, 100))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/requests/all")
+        performAsync(get("/requests/all")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(itemRequestClient, times(1)).getOtherUsersItemRequests(1L);
+        verify(itemRequestClient, times(1)).getOtherUsersItemRequests(1L, 0, 100);
+    }
+
+    @Test
+    void getOtherUsersItemRequestsWithNegativeFromReturnsBadRequest() throws Exception {
+        mvc.perform(get("/requests/all?from=-1&size=10")
+                        .header(USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(itemRequestClient, never()).getOtherUsersItemRequests(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     void getItemRequestByIdReturnsOk() throws Exception {
         when(itemRequestClient.getItemRequestById(1L, 1L))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(get("/requests/1")
+        performAsync(get("/requests/1")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -113,13 +127,20 @@ class ItemRequestControllerTest {
     @Test
     void getItemRequestByIdNotExistsReturnsNotFound() throws Exception {
         when(itemRequestClient.getItemRequestById(1L, 999L))
-                .thenReturn(ResponseEntity.notFound().build());
+                .thenReturn(Mono.just(ResponseEntity.notFound().build()));
 
-        mvc.perform(get("/requests/999")
+        performAsync(get("/requests/999")
                         .header(USER_ID_HEADER, 1L)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
         verify(itemRequestClient, times(1)).getItemRequestById(1L, 999L);
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
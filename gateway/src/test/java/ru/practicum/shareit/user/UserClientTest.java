@@ -9,6 +9,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -28,6 +29,9 @@ class UserClientTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ClientHttpRequestFactory requestFactory;
+
     private UserClient userClient;
 
     private UserDto userDto;
@@ -38,7 +42,7 @@ class UserClientTest {
         when(builder.build()).thenReturn(restTemplate);
         when(builder.uriTemplateHandler(any())).thenReturn(builder);
         when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
-        userClient = new UserClient("http://localhost", builder);
+        userClient = new UserClient("http://localhost", builder, requestFactory, null, null, false);
         userDto = new UserDto(1L, "Test User", "test@example.com");
     }
 
@@ -48,7 +52,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.findAll();
+        ResponseEntity<Object> result = userClient.findAll().block();
 
         assertThat(result.getBody()).isEqualTo(List.of(userDto));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -61,7 +65,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.getUserById(1L);
+        ResponseEntity<Object> result = userClient.getUserById(1L).block();
 
         assertThat(result.getBody()).isEqualTo(userDto);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -74,20 +78,33 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.createUser(userDto);
+        ResponseEntity<Object> result = userClient.createUser(userDto).block();
 
         assertThat(result.getBody()).isEqualTo(userDto);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.POST),
                 any(HttpEntity.class), eq(Object.class));
     }
 
+    @Test
+    void testCreateUsers() {
+        ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(List.of("CREATED"));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(responseEntity);
+
+        ResponseEntity<Object> result = userClient.createUsers(List.of(userDto)).block();
+
+        assertThat(result.getBody()).isEqualTo(List.of("CREATED"));
+        verify(restTemplate, times(1)).exchange(eq("/batch"), eq(HttpMethod.POST),
+                argThat(entity -> List.of(userDto).equals(entity.getBody())), eq(Object.class));
+    }
+
     @Test
     void testUpdateUser() {
         ResponseEntity<Object> responseEntity = ResponseEntity.ok().body(userDto);
         when(restTemplate.exchange(anyString(), eq(HttpMethod.PATCH), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.updateUser(1L, userDto);
+        ResponseEntity<Object> result = userClient.updateUser(1L, userDto).block();
 
         assertThat(result.getBody()).isEqualTo(userDto);
         verify(restTemplate, times(1)).exchange(anyString(),
@@ -100,7 +117,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.deleteUser(1L);
+        ResponseEntity<Object> result = userClient.deleteUser(1L).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.DELETE),
@@ -115,7 +132,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenThrow(exception);
 
-        ResponseEntity<Object> result = userClient.createUser(userDto);
+        ResponseEntity<Object> result = userClient.createUser(userDto).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(result.getBody()).isEqualTo(errorBody.getBytes());
@@ -127,7 +144,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.deleteUser(1L);
+        ResponseEntity<Object> result = userClient.deleteUser(1L).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         assertThat(result.getBody()).isNull();
@@ -140,7 +157,7 @@ class UserClientTest {
                 .thenReturn(responseEntity);
 
         // findAll не передаёт userId
-        ResponseEntity<Object> result = userClient.findAll();
+        ResponseEntity<Object> result = userClient.findAll().block();
 
         assertThat(result.getBody()).isEqualTo(List.of(userDto));
         verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET),
@@ -154,7 +171,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.createUser(userDto);
+        ResponseEntity<Object> result = userClient.createUser(userDto).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(result.getBody()).isEqualTo(errorBody);
@@ -166,7 +183,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.createUser(null);
+        ResponseEntity<Object> result = userClient.createUser(null).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).isNull();
@@ -178,7 +195,7 @@ class UserClientTest {
         when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class)))
                 .thenReturn(responseEntity);
 
-        ResponseEntity<Object> result = userClient.getUserById(999L);
+        ResponseEntity<Object> result = userClient.getUserById(999L).block();
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         assertThat(result.getBody()).isNull();
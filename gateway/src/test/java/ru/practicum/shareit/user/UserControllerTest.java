@@ -8,11 +8,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,9 +45,9 @@ class UserControllerTest {
     void findAllUsersReturnsListOfUsers() throws Exception {
         List<UserDto> users = List.of(testUser);
         when(userClient.findAll())
-                .thenReturn(ResponseEntity.ok(users));
+                .thenReturn(Mono.just(ResponseEntity.ok(users)));
 
-        mvc.perform(get("/users")
+        performAsync(get("/users")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
@@ -52,12 +58,55 @@ class UserControllerTest {
         verify(userClient, times(1)).findAll();
     }
 
+    @Test
+    void createUsersForwardsValidBatch() throws Exception {
+        List<UserDto> users = List.of(new UserDto(null, "John Doe", "john@example.com"),
+                new UserDto(null, "Jane Doe", "jane@example.com"));
+        when(userClient.createUsers(users))
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of(Map.of("index", 0, "status", "CREATED"),
+                        Map.of("index", 1, "status", "DUPLICATE")))));
+
+        performAsync(post("/users/batch")
+                        .content(mapper.writeValueAsString(users))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+
+        verify(userClient, times(1)).createUsers(users);
+    }
+
+    @Test
+    void createUsersWithInvalidRowReturnsBadRequest() throws Exception {
+        List<UserDto> users = List.of(new UserDto(null, "John Doe", "john@example.com"),
+                new UserDto(null, "", "not-an-email"));
+
+        mvc.perform(post("/users/batch")
+                        .content(mapper.writeValueAsString(users))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("users[1]")));
+
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void createUsersWithEmptyBatchReturnsBadRequest() throws Exception {
+        mvc.perform(post("/users/batch")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userClient);
+    }
+
     @Test
     void getUserByIdExistsReturnsUser() throws Exception {
         when(userClient.getUserById(1L))
-                .thenReturn(ResponseEntity.ok(testUser));
+                .thenReturn(Mono.just(ResponseEntity.ok(testUser)));
 
-        mvc.perform(get("/users/1")
+        performAsync(get("/users/1")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(testUser.getId()), Long.class))
@@ -70,9 +119,9 @@ class UserControllerTest {
     @Test
     void getUserByIdNotExistsReturnsNotFound() throws Exception {
         when(userClient.getUserById(999L))
-                .thenReturn(ResponseEntity.notFound().build());
+                .thenReturn(Mono.just(ResponseEntity.notFound().build()));
 
-        mvc.perform(get("/users/999")
+        performAsync(get("/users/999")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
@@ -82,9 +131,9 @@ class UserControllerTest {
     @Test
     void createUserValidDataReturnsUser() throws Exception {
         when(userClient.createUser(any()))
-                .thenReturn(ResponseEntity.ok(testUser));
+                .thenReturn(Mono.just(ResponseEntity.ok(testUser)));
 
-        mvc.perform(post("/users")
+        performAsync(post("/users")
                         .content(mapper.writeValueAsString(testUser))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -114,9 +163,9 @@ class UserControllerTest {
     void updateUserValidDataReturnsUpdatedUser() throws Exception {
         UserDto updatedUser = new UserDto(1L, "Updated Name", "updated@example.com");
         when(userClient.updateUser(eq(1L), any()))
-                .thenReturn(ResponseEntity.ok(updatedUser));
+                .thenReturn(Mono.just(ResponseEntity.ok(updatedUser)));
 
-        mvc.perform(patch("/users/1")
+        performAsync(patch("/users/1")
                         .content(mapper.writeValueAsString(updatedUser))
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
@@ -144,9 +193,9 @@ class UserControllerTest {
     @Test
     void deleteUserExistsReturnsOk() throws Exception {
         when(userClient.deleteUser(1L))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mvc.perform(delete("/users/1"))
+        performAsync(delete("/users/1"))
                 .andExpect(status().isOk());
 
         verify(userClient, times(1)).deleteUser(1L);
@@ -155,11 +204,18 @@ class UserControllerTest {
     @Test
     void deleteUserNotExistsReturnsNotFound() throws Exception {
         when(userClient.deleteUser(999L))
-                .thenReturn(ResponseEntity.notFound().build());
+                .thenReturn(Mono.just(ResponseEntity.notFound().build()));
 
-        mvc.perform(delete("/users/999"))
+        performAsync(delete("/users/999"))
                 .andExpect(status().isNotFound());
 
         verify(userClient, times(1)).deleteUser(999L);
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DataSeeder {
+
+    private static final List<String> ITEM_NAMES = List.of("Drill", "Ladder", "Tent", "Bike", "Kayak", "Projector",
+            "Saw", "Camera", "Grill", "Scooter");
+    private static final Duration COMMENT_BOOKING_DELAY = Duration.ofSeconds(5);
+
+    private final ShareItClient client;
+    private final LoadTestOptions options;
+
+    public DataSeeder(ShareItClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    public Dataset seed() throws InterruptedException {
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Long> userIds = runAll(executor, options.users(), i -> client.post("/users", null,
+                    Map.of("name", "User " + i, "email", "user" + i + "-" + started + "@example.com")));
+
+            List<Long> itemIds = runAll(executor, options.users() * options.itemsPerUser(), i -> {
+                String name = ITEM_NAMES.get(i % ITEM_NAMES.size());
+                return client.post("/items", ownerOf(userIds, i), Map.of(
+                        "name", name + " " + i,
+                        "description", name + " for rent, item " + i,
+                        "available", true));
+            });
+
+            runAll(executor, options.users(), i -> client.post("/requests", userIds.get(i),
+                    Map.of("description", "Looking for a " + ITEM_NAMES.get(i % ITEM_NAMES.size()))));
+
+            List<Long> commentItems = runAll(executor, Math.min(options.comments(), itemIds.size()), i -> {
+                long itemId = itemIds.get(i);
+                LocalDateTime start = LocalDateTime.now().plus(COMMENT_BOOKING_DELAY);
+                book(itemId, bookerFor(userIds, i, 0), start, start.plusSeconds(1), ownerOf(userIds, i), true);
+                return itemId;
+            });
+
+            LocalDateTime firstDay = LocalDateTime.now().plusDays(1);
+            runAll(executor, options.users() * options.bookingsPerUser(), i -> {
+                int itemIndex = i % itemIds.size();
+                int slot = i / itemIds.size();
+                LocalDateTime start = firstDay.plusDays(4L * slot);
+                return book(itemIds.get(itemIndex), bookerFor(userIds, itemIndex, slot), start,
+                        start.plusDays(1 + i % 3), ownerOf(userIds, itemIndex), i % 2 == 0);
+            });
+
+            Thread.sleep(COMMENT_BOOKING_DELAY.plusSeconds(2).toMillis());
+            runAll(executor, commentItems.size(), i -> client.post("/items/" + commentItems.get(i) + "/comment",
+                    bookerFor(userIds, i, 0), Map.of("text", "Worked fine, comment " + i)));
+
+            System.out.printf("Данные созданы за %d мс: пользователей %d, вещей %d, бронирований %d, отзывов %d%n",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis(), userIds.size(), itemIds.size(),
+                    options.users() * options.bookingsPerUser() + commentItems.size(), commentItems.size());
+            return new Dataset(userIds, itemIds, ITEM_NAMES.stream().map(String::toLowerCase).toList());
+        }
+    }
+
+    private long book(long itemId, long bookerId, LocalDateTime start, LocalDateTime end, long ownerId,
+                      boolean approve) throws Exception {
+        long bookingId = client.post("/bookings", bookerId, Map.of("itemId", itemId, "start", start, "end", end));
+        if (approve) {
+            client.patch("/bookings/" + bookingId + "?approved=true", ownerId, null);
+        }
+        return bookingId;
+    }
+
+    private long ownerOf(List<Long> userIds, int itemIndex) {
+        return userIds.get(itemIndex / options.itemsPerUser());
+    }
+
+    private long bookerFor(List<Long> userIds, int itemIndex, int slot) {
+        int ownerIndex = itemIndex / options.itemsPerUser();
+        return userIds.get((ownerIndex + 1 + (itemIndex + slot) % (userIds.size() - 1)) % userIds.size());
+    }
+
+    private static List<Long> runAll(ExecutorService executor, int count, IndexedTask task)
+            throws InterruptedException {
+        List<Callable<Long>> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            calls.add(() -> task.run(index));
+        }
+        List<Long> results = new ArrayList<>(count);
+        for (Future<Long> future : executor.invokeAll(calls)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Не удалось создать данные", e.getCause());
+            }
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        long run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public record Dataset(List<Long> userIds, List<Long> itemIds, List<String> searchTerms) {
+
+    public long randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    public long randomItem() {
+        return itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+    }
+
+    public String randomSearchTerm() {
+        return searchTerms.get(ThreadLocalRandom.current().nextInt(searchTerms.size()));
+    }
+}
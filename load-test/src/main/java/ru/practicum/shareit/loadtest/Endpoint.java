@@ -0,0 +1,48 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum Endpoint {
+    ITEM("GET /items/{id}", 25, dataset -> "/items/" + dataset.randomItem()),
+    OWNER_ITEMS("GET /items", 10, dataset -> "/items"),
+    SEARCH("GET /items/search", 20, dataset -> "/items/search?text=" + dataset.randomSearchTerm()),
+    USER_BOOKINGS("GET /bookings", 15, dataset -> "/bookings?state=ALL&size=20"),
+    OWNER_BOOKINGS("GET /bookings/owner", 15, dataset -> "/bookings/owner?state=ALL&size=20"),
+    OTHER_REQUESTS("GET /requests/all", 15, dataset -> "/requests/all?from=0&size=20");
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(Endpoint::getWeight).sum();
+
+    private final String title;
+    private final int weight;
+    private final Function<Dataset, String> path;
+
+    Endpoint(String title, int weight, Function<Dataset, String> path) {
+        this.title = title;
+        this.weight = weight;
+        this.path = path;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public String path(Dataset dataset) {
+        return path.apply(dataset);
+    }
+
+    public static Endpoint pick(int random) {
+        int point = random % TOTAL_WEIGHT;
+        for (Endpoint endpoint : values()) {
+            point -= endpoint.weight;
+            if (point < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
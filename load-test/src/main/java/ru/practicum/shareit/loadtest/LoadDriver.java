@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadDriver {
+
+    private static final long MAX_LATENCY_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final ShareItClient client;
+    private final Dataset dataset;
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    public LoadDriver(ShareItClient client, Dataset dataset) {
+        this.client = client;
+        this.dataset = dataset;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public LoadResult run(int concurrency, Duration warmup, Duration duration) {
+        System.out.printf("Нагрузка: %d потоков, прогрев %s, замер %s%n", concurrency, warmup, duration);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> work(measureFrom, measureTo));
+            }
+        }
+        return new LoadResult(duration, latencies, errors);
+    }
+
+    private Void work(long measureFrom, long measureTo) throws InterruptedException {
+        while (System.nanoTime() < measureTo) {
+            Endpoint endpoint = Endpoint.pick(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+            String path = endpoint.path(dataset);
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = client.get(path, dataset.randomUser()) >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom && end <= measureTo) {
+                latencies.get(endpoint).recordValue(Math.min(end - start, MAX_LATENCY_NANOS));
+                if (failed) {
+                    errors.get(endpoint).increment();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public record LoadResult(Duration duration, Map<Endpoint, Histogram> latencies, Map<Endpoint, LongAdder> errors) {
+
+    private static final String ROW_FORMAT = "%-22s %10s %8s %10s %9s %9s %9s %9s%n";
+
+    public void print(PrintStream out) {
+        out.printf(ROW_FORMAT, "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (List<String> row : rows()) {
+            out.printf(ROW_FORMAT, row.toArray());
+        }
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms");
+        for (List<String> row : rows()) {
+            lines.add(String.join(",", row));
+        }
+        Files.write(path, lines);
+    }
+
+    private List<List<String>> rows() {
+        List<List<String>> rows = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Endpoint, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long endpointErrors = errors.get(entry.getKey()).sum();
+            rows.add(row(entry.getKey().getTitle(), histogram, endpointErrors));
+            total.add(histogram);
+            totalErrors += endpointErrors;
+        }
+        rows.add(row("total", total, totalErrors));
+        return rows;
+    }
+
+    private List<String> row(String title, Histogram histogram, long endpointErrors) {
+        return List.of(title,
+                String.valueOf(histogram.getTotalCount()),
+                String.valueOf(endpointErrors),
+                String.format(Locale.ROOT, "%.1f", histogram.getTotalCount() / (duration.toNanos() / 1e9)),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
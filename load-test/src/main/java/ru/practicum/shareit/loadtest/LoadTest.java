@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        try (ServiceLauncher launcher = new ServiceLauncher(httpClient)) {
+            String gatewayUrl = options.bootServices() ? launcher.start(options) : options.gatewayUrl();
+            ShareItClient client = new ShareItClient(gatewayUrl, httpClient);
+            Dataset dataset = new DataSeeder(client, options).seed();
+            LoadResult result = new LoadDriver(client, dataset)
+                    .run(options.concurrency(), options.warmup(), options.duration());
+            result.print(System.out);
+            if (options.out() != null) {
+                result.writeCsv(options.out());
+                System.out.printf("Результаты записаны в %s%n", options.out());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public record LoadTestOptions(String gatewayUrl,
+                              Path serverJar,
+                              Path gatewayJar,
+                              String database,
+                              String profile,
+                              int serverPort,
+                              int gatewayPort,
+                              int users,
+                              int itemsPerUser,
+                              int bookingsPerUser,
+                              int comments,
+                              int concurrency,
+                              Duration warmup,
+                              Duration duration,
+                              Path out) {
+
+    private static final Set<String> NAMES = Set.of("gateway-url", "server-jar", "gateway-jar", "database", "profile",
+            "server-port", "gateway-port", "users", "items-per-user", "bookings-per-user", "comments", "concurrency",
+            "warmup", "duration", "out");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg + ". Допустимые: " + NAMES);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String database = values.getOrDefault("database", "h2");
+        if (!"h2".equals(database) && !"postgres".equals(database)) {
+            throw new IllegalArgumentException("Поддерживаются базы h2 и postgres: " + database);
+        }
+        return new LoadTestOptions(
+                values.get("gateway-url"),
+                Path.of(values.getOrDefault("server-jar", "server/target/server-0.0.1-SNAPSHOT.jar")),
+                Path.of(values.getOrDefault("gateway-jar", "gateway/target/gateway-0.0.1-SNAPSHOT.jar")),
+                database,
+                values.get("profile"),
+                Integer.parseInt(values.getOrDefault("server-port", "9090")),
+                Integer.parseInt(values.getOrDefault("gateway-port", "8080")),
+                Integer.parseInt(values.getOrDefault("users", "100")),
+                Integer.parseInt(values.getOrDefault("items-per-user", "5")),
+                Integer.parseInt(values.getOrDefault("bookings-per-user", "5")),
+                Integer.parseInt(values.getOrDefault("comments", "50")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                values.containsKey("out") ? Path.of(values.get("out")) : null);
+    }
+
+    public boolean bootServices() {
+        return gatewayUrl == null;
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Path LOG_DIRECTORY = Path.of("target", "load-test");
+
+    private final HttpClient httpClient;
+    private final List<Process> processes = new ArrayList<>();
+
+    public ServiceLauncher(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    public String start(LoadTestOptions options) throws IOException, InterruptedException {
+        Files.createDirectories(LOG_DIRECTORY);
+        String serverUrl = "http://localhost:" + options.serverPort();
+        String gatewayUrl = "http://localhost:" + options.gatewayPort();
+
+        List<String> serverArgs = new ArrayList<>(List.of("--server.port=" + options.serverPort()));
+        if ("h2".equals(options.database())) {
+            serverArgs.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driverClassName=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.sql.init.schema-locations=classpath:schema.sql"));
+        }
+        List<String> gatewayArgs = new ArrayList<>(List.of("--server.port=" + options.gatewayPort(),
+                "--shareit-server.url=" + serverUrl));
+        if (options.profile() != null) {
+            serverArgs.add("--spring.profiles.active=" + options.profile());
+            gatewayArgs.add("--spring.profiles.active=" + options.profile());
+        }
+        launch("server", options.serverJar(), serverArgs);
+        awaitHealthy("server", serverUrl);
+
+        launch("gateway", options.gatewayJar(), gatewayArgs);
+        awaitHealthy("gateway", gatewayUrl);
+        return gatewayUrl;
+    }
+
+    private void launch(String name, Path jar, List<String> args) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден исполняемый jar " + jar + ". Соберите проект: mvn package");
+        }
+        List<String> command = new ArrayList<>(List.of(Path.of(System.getProperty("java.home"), "bin", "java")
+                .toString(), "-jar", jar.toString()));
+        command.addAll(args);
+        Path log = LOG_DIRECTORY.resolve(name + ".log");
+        System.out.printf("Запуск %s, лог: %s%n", name, log);
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private void awaitHealthy(String name, String baseUrl) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // сервис ещё не принимает соединения
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(String.format("%s не запустился за %s", name, STARTUP_TIMEOUT));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Process process : processes.reversed()) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRowResult {
+    private int index;
+    private BatchRowStatus status;
+    private Long id;
+    private String error;
+
+    public static BatchRowResult created(int index) {
+        return BatchRowResult.builder()
+                .index(index)
+                .status(BatchRowStatus.CREATED)
+                .build();
+    }
+
+    public static BatchRowResult failed(int index, BatchRowStatus status, String error) {
+        return BatchRowResult.builder()
+                .index(index)
+                .status(status)
+                .error(error)
+                .build();
+    }
+}
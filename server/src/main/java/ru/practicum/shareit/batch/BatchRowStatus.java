@@ -0,0 +1,10 @@
+package ru.practicum.shareit.batch;
+
+public enum BatchRowStatus {
+    CREATED,
+    UPDATED,
+    DUPLICATE,
+    NOT_FOUND,
+    FORBIDDEN,
+    CONFLICT
+}
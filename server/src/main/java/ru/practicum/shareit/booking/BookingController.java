@@ -1,10 +1,14 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.retry.ConflictRetry;
 
 import java.util.List;
 
@@ -13,7 +17,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String DEFAULT_PAGE_SIZE = "100";
+
     private final BookingService bookingService;
+    private final ConflictRetry conflictRetry;
 
     @PostMapping
     public BookingDto createBooking(@RequestBody BookingRequestDto bookingRequestDto,
@@ -26,21 +34,40 @@ public class BookingController {
         return bookingService.getBookingById(bookingId, userId);
     }
 
+    @PatchMapping("/batch")
+    public List<BatchRowResult> approveBookings(@RequestBody List<BookingDecisionDto> decisions,
+                                                @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        return bookingService.approveBookings(decisions, ownerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(@PathVariable Long bookingId, @RequestParam Boolean approved,
                                      @RequestHeader("X-Sharer-User-Id") Long ownerId) {
-        return bookingService.approveBooking(bookingId, ownerId, approved);
+        return conflictRetry.execute(() -> bookingService.approveBooking(bookingId, ownerId, approved));
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "ALL") State state) {
-        return bookingService.getUserBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(defaultValue = "ALL") State state,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return toPage(bookingService.getUserBookings(userId, state, BookingCursor.decode(cursor), size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                             @RequestParam(defaultValue = "ALL") State state) {
-        return bookingService.getOwnerBookings(ownerId, state);
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                             @RequestParam(defaultValue = "ALL") State state,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return toPage(bookingService.getOwnerBookings(ownerId, state, BookingCursor.decode(cursor), size), size);
+    }
+
+    private static ResponseEntity<List<BookingDto>> toPage(List<BookingDto> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, BookingCursor.after(bookings.getLast()).encode())
+                .body(bookings);
     }
 }
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.stream.OwnerBookingStream;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.service.UserService;
+
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+public class BookingStreamController {
+
+    private final UserService userService;
+    private final ObjectProvider<OwnerBookingStream> ownerBookingStream;
+
+    @GetMapping("/owner/stream")
+    public SseEmitter streamOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                          @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        OwnerBookingStream stream = ownerBookingStream.getIfAvailable();
+        if (stream == null) {
+            throw new NotFoundException("Поток бронирований недоступен: публикация событий выключена");
+        }
+        userService.getUserById(ownerId);
+        return stream.subscribe(ownerId, lastEventId);
+    }
+}
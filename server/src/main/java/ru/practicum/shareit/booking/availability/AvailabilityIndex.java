@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.service.ItemDeletedEvent;
+import ru.practicum.shareit.user.service.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+    private static final List<Status> TRACKED = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Lock writeLock = new ReentrantLock();
+    private volatile Map<Long, Timelines> timelines = new ConcurrentHashMap<>();
+    private List<Consumer<Map<Long, Timelines>>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    public void reload() {
+        writeLock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingInterval> intervals = bookingRepository.findIntervalsEndingAfter(TRACKED, now);
+            Map<Long, List<BookingInterval>> approved = new HashMap<>();
+            Map<Long, List<BookingInterval>> waiting = new HashMap<>();
+            for (BookingInterval interval : intervals) {
+                Map<Long, List<BookingInterval>> target = interval.status() == Status.APPROVED ? approved : waiting;
+                target.computeIfAbsent(interval.itemId(), id -> new ArrayList<>()).add(interval);
+            }
+            Map<Long, Timelines> loaded = new ConcurrentHashMap<>();
+            Stream.concat(approved.keySet().stream(), waiting.keySet().stream())
+                    .distinct()
+                    .forEach(itemId -> loaded.put(itemId, new Timelines(
+                            BookingTimeline.of(approved.getOrDefault(itemId, List.of())),
+                            BookingTimeline.of(waiting.getOrDefault(itemId, List.of())))));
+            writeLock.lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(loaded));
+                timelines = loaded;
+            } finally {
+                writeLock.unlock();
+            }
+            log.info("Индекс занятости загружен: {} бронирований по {} вещам", intervals.size(), loaded.size());
+        } finally {
+            writeLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingInterval interval = event.interval();
+        change(current -> current.compute(interval.itemId(), (itemId, item) -> {
+            Timelines updated = (item != null ? item : Timelines.EMPTY).with(interval, LocalDateTime.now());
+            return updated.isEmpty() ? null : updated;
+        }));
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        change(current -> current.remove(event.itemId()));
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        reload();
+    }
+
+    public boolean hasApprovedOverlap(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Timelines item = timelines.get(itemId);
+        return item != null && item.approved().overlaps(from, to);
+    }
+
+    public List<BookingInterval> getBookings(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Timelines item = timelines.get(itemId);
+        if (item == null) {
+            return List.of();
+        }
+        return Stream.concat(item.approved().overlapping(from, to).stream(),
+                        item.waiting().overlapping(from, to).stream())
+                .sorted(Comparator.comparing(BookingInterval::start).thenComparing(BookingInterval::id))
+                .toList();
+    }
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException(String.format("Некорректный интервал: начало %s не раньше конца %s",
+                    from, to));
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(!hasApprovedOverlap(itemId, from, to))
+                .bookings(getBookings(itemId, from, to))
+                .build();
+    }
+
+    private void change(Consumer<Map<Long, Timelines>> change) {
+        writeLock.lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            change.accept(timelines);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private record Timelines(BookingTimeline approved, BookingTimeline waiting) {
+        static final Timelines EMPTY = new Timelines(BookingTimeline.EMPTY, BookingTimeline.EMPTY);
+
+        Timelines with(BookingInterval interval, LocalDateTime now) {
+            BookingTimeline approvedWithout = approved.without(interval.id(), now);
+            BookingTimeline waitingWithout = waiting.without(interval.id(), now);
+            return switch (interval.status()) {
+                case APPROVED -> new Timelines(approved.with(interval, now), waitingWithout);
+                case WAITING -> new Timelines(approvedWithout, waiting.with(interval, now));
+                default -> new Timelines(approvedWithout, waitingWithout);
+            };
+        }
+
+        boolean isEmpty() {
+            return approved.isEmpty() && waiting.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.booking.availability;
+
+public record BookingChangedEvent(BookingInterval interval) {
+}
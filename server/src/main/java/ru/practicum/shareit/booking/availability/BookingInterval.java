@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(Long id, Long itemId, LocalDateTime start, LocalDateTime end, Status status) {
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus());
+    }
+}
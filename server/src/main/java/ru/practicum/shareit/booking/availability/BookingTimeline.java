@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+final class BookingTimeline {
+
+    static final BookingTimeline EMPTY = new BookingTimeline(new BookingInterval[0]);
+
+    private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::start)
+            .thenComparing(BookingInterval::id);
+
+    private final BookingInterval[] intervals;
+    private final LocalDateTime[] maxEnds;
+
+    private BookingTimeline(BookingInterval[] intervals) {
+        this.intervals = intervals;
+        this.maxEnds = new LocalDateTime[intervals.length];
+        LocalDateTime maxEnd = LocalDateTime.MIN;
+        for (int i = 0; i < intervals.length; i++) {
+            if (intervals[i].end().isAfter(maxEnd)) {
+                maxEnd = intervals[i].end();
+            }
+            maxEnds[i] = maxEnd;
+        }
+    }
+
+    static BookingTimeline of(Collection<BookingInterval> intervals) {
+        BookingInterval[] sorted = intervals.toArray(new BookingInterval[0]);
+        Arrays.sort(sorted, BY_START);
+        return new BookingTimeline(sorted);
+    }
+
+    BookingTimeline with(BookingInterval interval, LocalDateTime now) {
+        List<BookingInterval> kept = retained(interval.id(), now);
+        kept.add(interval);
+        return of(kept);
+    }
+
+    BookingTimeline without(Long bookingId, LocalDateTime now) {
+        return of(retained(bookingId, now));
+    }
+
+    boolean isEmpty() {
+        return intervals.length == 0;
+    }
+
+    int size() {
+        return intervals.length;
+    }
+
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        int candidates = startingBefore(to);
+        return candidates > 0 && maxEnds[candidates - 1].isAfter(from);
+    }
+
+    List<BookingInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+        Deque<BookingInterval> result = new ArrayDeque<>();
+        for (int i = startingBefore(to) - 1; i >= 0 && maxEnds[i].isAfter(from); i--) {
+            if (intervals[i].end().isAfter(from)) {
+                result.addFirst(intervals[i]);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private int startingBefore(LocalDateTime to) {
+        int low = 0;
+        int high = intervals.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (intervals[middle].start().isBefore(to)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private List<BookingInterval> retained(Long bookingId, LocalDateTime now) {
+        List<BookingInterval> kept = new ArrayList<>(intervals.length + 1);
+        for (BookingInterval interval : intervals) {
+            if (!interval.id().equals(bookingId) && interval.end().isAfter(now)) {
+                kept.add(interval);
+            }
+        }
+        return kept;
+    }
+}
@@ -1,80 +1,220 @@
 package ru.practicum.shareit.booking.dao;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingApprovalTarget;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.etag.VersionStamp;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long userId);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, Status status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :userId
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findBookerPage(@Param("userId") Long userId, @Param("cursorStart") LocalDateTime cursorStart,
+                                 @Param("cursorId") Long cursorId, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :userId
+            AND b.start <= CURRENT_TIMESTAMP
+            AND b.end >= CURRENT_TIMESTAMP
+            AND b.status = APPROVED
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findCurrentBookerPage(@Param("userId") Long userId, @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :userId
+            AND b.end < :now
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findPastBookerPage(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId, Limit limit);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long userId, Status status);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :userId
+            AND b.start > :now
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findFutureBookerPage(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId, Limit limit);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long userId, LocalDateTime start);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.booker.id = :userId
+            AND b.status = :status
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findBookerPageByStatus(@Param("userId") Long userId, @Param("status") Status status,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId, Limit limit);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long userId, LocalDateTime end);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findOwnerPage(@Param("ownerId") Long ownerId, @Param("cursorStart") LocalDateTime cursorStart,
+                                @Param("cursorId") Long cursorId, Limit limit);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("""
             SELECT b FROM Booking b
-            WHERE b.booker.id = :userId
+            WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
             AND b.start <= CURRENT_TIMESTAMP
             AND b.end >= CURRENT_TIMESTAMP
             AND b.status = APPROVED
-            ORDER BY b.start DESC
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
             """)
-    List<Booking> findCurrentBookingsByUser(@Param("userId") Long userId);
+    List<Booking> findCurrentOwnerPage(@Param("ownerId") Long ownerId, @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId, Limit limit);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("""
             SELECT b FROM Booking b
-            WHERE b.item.owner.id = :ownerId
-            AND b.start <= CURRENT_TIMESTAMP
-            AND b.end >= CURRENT_TIMESTAMP
-            AND b.status = APPROVED
-            ORDER BY b.start DESC
+            WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            AND b.end < :now
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
             """)
-    List<Booking> findCurrentBookingsByOwner(@Param("ownerId") Long ownerId);
+    List<Booking> findPastOwnerPage(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId, Limit limit);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("""
             SELECT b FROM Booking b
-            WHERE b.item.id IN :itemIds
-            AND b.status = APPROVED
-            AND b.end <= CURRENT_TIMESTAMP
-            AND b.id IN (
-                SELECT MAX(b2.id) FROM Booking b2
-                WHERE b2.item.id = b.item.id
-                AND b2.status = APPROVED
-                AND b2.end <= CURRENT_TIMESTAMP
-                GROUP BY b2.item.id
-            )
+            WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            AND b.start > :now
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
             """)
-    List<Booking> findLastBookingsForItems(@Param("itemIds") List<Long> itemIds);
+    List<Booking> findFutureOwnerPage(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId, Limit limit);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("""
             SELECT b FROM Booking b
+            WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            AND b.status = :status
+            AND (b.start, b.id) < (:cursorStart, :cursorId)
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    List<Booking> findOwnerPageByStatus(@Param("ownerId") Long ownerId, @Param("status") Status status,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("""
+            SELECT b FROM (
+                SELECT b2.id AS id,
+                    ROW_NUMBER() OVER (
+                        PARTITION BY b2.item.id, CASE WHEN b2.end <= :now THEN 0 ELSE 1 END
+                        ORDER BY CASE WHEN b2.end <= :now THEN b2.end END DESC, b2.start ASC
+                    ) AS rn
+                FROM Booking b2
+                WHERE b2.item.id IN :itemIds
+                AND b2.status = APPROVED
+                AND (b2.end <= :now OR b2.start > :now)
+            ) r
+            LEFT JOIN Booking b ON b.id = r.id
+            WHERE r.rn = 1
+            """)
+    List<Booking> findLastAndNextBookingsForItems(@Param("itemIds") List<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT COUNT(b) > 0 FROM Booking b
+            WHERE b.item.id = :itemId
+            AND b.status = APPROVED
+            AND b.start < :end
+            AND b.end > :start
+            AND b.id <> :excludedId
+            """)
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId, @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end, @Param("excludedId") Long excludedId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end, b.status)
+            FROM Booking b
+            WHERE b.status IN :statuses
+            AND b.end > :now
+            """)
+    List<BookingInterval> findIntervalsEndingAfter(@Param("statuses") List<Status> statuses,
+                                                   @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingApprovalTarget(b.id, i.id, i.owner.id, b.booker.id,
+                b.start, b.end, b.status, b.version)
+            FROM Booking b
+            JOIN b.item i
+            WHERE b.id IN :ids
+            """)
+    List<BookingApprovalTarget> findApprovalTargets(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.availability.BookingInterval(b.id, b.item.id, b.start, b.end, b.status)
+            FROM Booking b
             WHERE b.item.id IN :itemIds
             AND b.status = APPROVED
-            AND b.start > CURRENT_TIMESTAMP
-            AND b.id IN (
-                SELECT MIN(b2.id) FROM Booking b2
-                WHERE b2.item.id = b.item.id
-                AND b2.status = APPROVED
-                AND b2.start > CURRENT_TIMESTAMP
-                GROUP BY b2.item.id
-            )
             """)
-    List<Booking> findNextBookingsForItems(@Param("itemIds") List<Long> itemIds);
+    List<BookingInterval> findApprovedIntervals(@Param("itemIds") Collection<Long> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 WHERE b.id IN :ids")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("status") Status status);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(b), COALESCE(MAX(b.id), 0L),
+                COALESCE(SUM(b.booker.version
+                    + CASE WHEN b.start <= :now THEN 1 ELSE 0 END
+                    + CASE WHEN b.end <= :now THEN 1 ELSE 0 END), 0L))
+            FROM Booking b
+            WHERE b.item.owner.id = :ownerId
+            AND b.status = APPROVED
+            """)
+    VersionStamp getOwnerApprovedBookingsStamp(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+
+import java.time.LocalDateTime;
+
+public record BookingApprovalTarget(Long id, Long itemId, Long ownerId, Long bookerId, LocalDateTime start,
+                                    LocalDateTime end, Status status, long version) {
+
+    public BookingInterval toInterval(Status newStatus) {
+        return new BookingInterval(id, itemId, start, end, newStatus);
+    }
+}
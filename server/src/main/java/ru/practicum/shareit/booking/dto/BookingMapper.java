@@ -1,11 +1,17 @@
 package ru.practicum.shareit.booking.dto;
 
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+@AnnotateWith(value = Timed.class, elements = {
+        @AnnotateWith.Element(name = "value", strings = MetricsConfig.MAPPING_TIMER),
+        @AnnotateWith.Element(name = "histogram", booleans = true)})
 @Mapper(componentModel = "spring", uses = {ItemMapper.class, UserMapper.class})
 public interface BookingMapper {
 
@@ -15,11 +21,13 @@ public interface BookingMapper {
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "booker", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toBooking(BookingDto bookingDto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "booker", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toBooking(BookingRequestDto bookingRequestDto);
 }
@@ -39,4 +39,8 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
 }
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.State;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 
@@ -12,9 +15,11 @@ public interface BookingService {
 
     BookingDto approveBooking(Long bookingId, Long ownerId, boolean approved);
 
+    List<BatchRowResult> approveBookings(List<BookingDecisionDto> decisions, Long ownerId);
+
     BookingDto getBookingById(Long bookingId, Long userId);
 
-    List<BookingDto> getUserBookings(Long userId, State state);
+    List<BookingDto> getUserBookings(Long userId, State state, BookingCursor cursor, int size);
 
-    List<BookingDto> getOwnerBookings(Long ownerId, State state);
+    List<BookingDto> getOwnerBookings(Long ownerId, State state, BookingCursor cursor, int size);
 }
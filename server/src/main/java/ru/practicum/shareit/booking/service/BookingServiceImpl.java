@@ -1,46 +1,67 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.State;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingChangedEvent;
+import ru.practicum.shareit.booking.availability.BookingInterval;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalTarget;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.outbox.DomainEvent;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class BookingServiceImpl implements BookingService {
+    private static final long NO_BOOKING = 0L;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private User checkUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("Пользователь с id {} не найден", userId);
-                    return new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
-                });
-    }
-
-    private Item checkItem(Long itemId) {
-        return itemRepository.findById(itemId)
+    private Item lockItem(Long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> {
                     log.error("Предмет с id {} не найден", itemId);
                     return new NotFoundException(String.format("Предмет с id = %d не найден", itemId));
@@ -51,15 +72,6 @@ public class BookingServiceImpl implements BookingService {
     public BookingDto addBooking(BookingRequestDto bookingRequest, Long userId) {
         log.info("Попытка бронирования: {} от пользователя с id {}", bookingRequest, userId);
         Long itemId = bookingRequest.getItemId();
-        Item item = checkItem(itemId);
-        User owner = item.getOwner();
-        User booker = checkUser(userId);
-        if (owner.equals(booker)) {
-            throw new ValidationException("Владелец не может бронировать свою вещь ");
-        }
-        if (!item.getAvailable()) {
-            throw new ValidationException("Вещь недоступна для бронирования");
-        }
         LocalDateTime start = bookingRequest.getStart();
         LocalDateTime end = bookingRequest.getEnd();
         if (start.isAfter(end) || start.isEqual(end) || start.isBefore(LocalDateTime.now())
@@ -67,14 +79,32 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(String.format("Некорректные даты бронирования. " +
                     "Начало: {} Конец: {}", start, end));
         }
+        Item item = lockItem(itemId);
+        User booker = userMapper.toUser(userService.getUserById(userId));
+        if (item.getOwner().getId().equals(booker.getId())) {
+            throw new ValidationException("Владелец не может бронировать свою вещь ");
+        }
+        if (!item.getAvailable()) {
+            throw new ValidationException("Вещь недоступна для бронирования");
+        }
+        checkNoApprovedOverlap(itemId, start, end, NO_BOOKING);
         Booking booking = bookingMapper.toBooking(bookingRequest);
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(Status.WAITING);
         Booking createdBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingInterval.of(createdBooking)));
+        eventPublisher.publishEvent(DomainEvent.bookingCreated(createdBooking));
         return bookingMapper.toBookingDto(createdBooking);
     }
 
+    private void checkNoApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long bookingId) {
+        if (bookingRepository.existsApprovedOverlap(itemId, start, end, bookingId)) {
+            log.warn("Бронирование вещи {} пересекается с подтверждённым: {} - {}", itemId, start, end);
+            throw new ConflictException(String.format("Вещь с id = %d уже забронирована на это время", itemId));
+        }
+    }
+
     private Booking checkBooking(long bookingId) {
         return bookingRepository.findById(bookingId)
                 .orElseThrow(() -> {
@@ -86,12 +116,12 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public BookingDto getBookingById(Long bookingId, Long userId) {
-        checkUser(userId);
         Booking booking = checkBooking(bookingId);
         User owner = booking.getItem().getOwner();
         User booker = booking.getBooker();
 
         if (!booker.getId().equals(userId) && !owner.getId().equals(userId)) {
+            userService.getUserById(userId);
             throw new ValidationException("Просмотр бронирования доступен только автору или владельцу вещи");
         }
 
@@ -100,16 +130,20 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getUserBookings(Long userId, State state) {
-        checkUser(userId);
+    public List<BookingDto> getUserBookings(Long userId, State state, BookingCursor cursor, int size) {
+        userService.getUserById(userId);
+        Limit limit = checkPageSize(size);
+        BookingCursor page = cursor != null ? cursor : BookingCursor.first();
+        LocalDateTime start = page.start();
+        Long id = page.id();
         LocalDateTime now = LocalDateTime.now();
         List<Booking> userBookings = switch (state) {
-            case CURRENT -> bookingRepository.findCurrentBookingsByUser(userId);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
-            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
-            default -> bookingRepository.findByBookerIdOrderByStartDesc(userId);
+            case CURRENT -> bookingRepository.findCurrentBookerPage(userId, start, id, limit);
+            case PAST -> bookingRepository.findPastBookerPage(userId, now, start, id, limit);
+            case FUTURE -> bookingRepository.findFutureBookerPage(userId, now, start, id, limit);
+            case WAITING -> bookingRepository.findBookerPageByStatus(userId, Status.WAITING, start, id, limit);
+            case REJECTED -> bookingRepository.findBookerPageByStatus(userId, Status.REJECTED, start, id, limit);
+            default -> bookingRepository.findBookerPage(userId, start, id, limit);
         };
         return userBookings.stream()
                 .map(bookingMapper::toBookingDto)
@@ -122,35 +156,149 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
             throw new ValidationException("Подтверждать бронирование может только владелец вещи");
         }
-        checkUser(ownerId);
         if (approved) {
+            lockItem(booking.getItem().getId());
+            checkNoApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd(), bookingId);
             booking.setStatus(Status.APPROVED);
         } else {
             booking.setStatus(Status.REJECTED);
         }
-        Booking approvedBooking = bookingRepository.save(booking);
+        Booking approvedBooking;
+        try {
+            approvedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(String.format("Вещь с id = %d уже забронирована на это время",
+                    booking.getItem().getId()));
+        }
         log.info("Статус изменен: {}", approvedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingInterval.of(approvedBooking)));
+        eventPublisher.publishEvent(DomainEvent.bookingDecided(approvedBooking));
         return bookingMapper.toBookingDto(approvedBooking);
     }
 
+    @Override
+    public List<BatchRowResult> approveBookings(List<BookingDecisionDto> decisions, Long ownerId) {
+        log.info("Пакетное изменение статусов: {} бронирований владельца {}", decisions.size(), ownerId);
+        Map<Long, BookingApprovalTarget> targets = bookingRepository.findApprovalTargets(decisions.stream()
+                        .map(BookingDecisionDto::getBookingId)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(BookingApprovalTarget::id, Function.identity()));
+        Map<Long, List<BookingInterval>> approvedByItem = lockApprovedIntervals(decisions, targets, ownerId);
+        Map<Long, Long> versions = targets.isEmpty() ? Map.of() : bookingRepository
+                .findAllByIdForUpdate(targets.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getVersion));
+        Set<Long> processed = new HashSet<>();
+        Map<Status, List<Long>> updates = new EnumMap<>(Status.class);
+        List<BookingInterval> changed = new ArrayList<>();
+        List<DomainEvent> decided = new ArrayList<>();
+        List<BatchRowResult> results = new ArrayList<>(decisions.size());
+        for (int i = 0; i < decisions.size(); i++) {
+            Long bookingId = decisions.get(i).getBookingId();
+            BookingApprovalTarget target = targets.get(bookingId);
+            BatchRowResult row;
+            if (!processed.add(bookingId)) {
+                row = BatchRowResult.failed(i, BatchRowStatus.DUPLICATE,
+                        String.format("Бронирование с id = %d уже есть в пакете", bookingId));
+            } else if (target == null) {
+                row = BatchRowResult.failed(i, BatchRowStatus.NOT_FOUND,
+                        String.format("Бронирование с id = %d не найдено", bookingId));
+            } else if (!target.ownerId().equals(ownerId)) {
+                row = BatchRowResult.failed(i, BatchRowStatus.FORBIDDEN,
+                        "Подтверждать бронирование может только владелец вещи");
+            } else if (!Long.valueOf(target.version()).equals(versions.get(bookingId))) {
+                row = BatchRowResult.failed(i, BatchRowStatus.CONFLICT,
+                        String.format("Бронирование с id = %d изменено параллельным запросом", bookingId));
+            } else {
+                Status status = Boolean.TRUE.equals(decisions.get(i).getApproved()) ? Status.APPROVED : Status.REJECTED;
+                List<BookingInterval> itemApproved = approvedByItem.computeIfAbsent(target.itemId(),
+                        itemId -> new ArrayList<>());
+                if (status == Status.APPROVED && itemApproved.stream().anyMatch(interval ->
+                        !interval.id().equals(bookingId) && interval.start().isBefore(target.end())
+                                && interval.end().isAfter(target.start()))) {
+                    row = BatchRowResult.failed(i, BatchRowStatus.CONFLICT,
+                            String.format("Вещь с id = %d уже забронирована на это время", target.itemId()));
+                } else {
+                    itemApproved.removeIf(interval -> interval.id().equals(bookingId));
+                    if (status == Status.APPROVED) {
+                        itemApproved.add(target.toInterval(status));
+                    }
+                    updates.computeIfAbsent(status, s -> new ArrayList<>()).add(bookingId);
+                    changed.add(target.toInterval(status));
+                    decided.add(DomainEvent.bookingDecided(target.toInterval(status), target.ownerId(),
+                            target.bookerId()));
+                    row = BatchRowResult.builder().index(i).status(BatchRowStatus.UPDATED).build();
+                }
+            }
+            row.setId(bookingId);
+            results.add(row);
+        }
+        try {
+            updates.forEach((status, ids) -> {
+                if (bookingRepository.updateStatuses(ids, status) != ids.size()) {
+                    throw new ConflictException("Бронирования пакета изменены параллельным запросом");
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Пакет пересекается с уже подтверждёнными бронированиями");
+        }
+        changed.forEach(interval -> eventPublisher.publishEvent(new BookingChangedEvent(interval)));
+        decided.forEach(eventPublisher::publishEvent);
+        log.info("Пакетно изменено статусов: {} из {}", changed.size(), decisions.size());
+        return results;
+    }
+
+    private Map<Long, List<BookingInterval>> lockApprovedIntervals(List<BookingDecisionDto> decisions,
+                                                                   Map<Long, BookingApprovalTarget> targets,
+                                                                   Long ownerId) {
+        List<Long> itemIds = decisions.stream()
+                .filter(decision -> Boolean.TRUE.equals(decision.getApproved()))
+                .map(decision -> targets.get(decision.getBookingId()))
+                .filter(target -> target != null && target.ownerId().equals(ownerId))
+                .map(BookingApprovalTarget::itemId)
+                .distinct()
+                .sorted()
+                .toList();
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        itemRepository.findAllByIdForUpdate(itemIds);
+        return bookingRepository.findApprovedIntervals(itemIds).stream()
+                .collect(Collectors.groupingBy(BookingInterval::itemId, HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> getOwnerBookings(Long ownerId, State state) {
-        checkUser(ownerId);
+    public List<BookingDto> getOwnerBookings(Long ownerId, State state, BookingCursor cursor, int size) {
+        userService.getUserById(ownerId);
+        Limit limit = checkPageSize(size);
+        BookingCursor page = cursor != null ? cursor : BookingCursor.first();
+        LocalDateTime start = page.start();
+        Long id = page.id();
         LocalDateTime now = LocalDateTime.now();
         List<Booking> ownerBookings = switch (state) {
-            case CURRENT -> bookingRepository.findCurrentBookingsByOwner(ownerId);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now);
-            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now);
-            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.WAITING);
-            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, Status.REJECTED);
-            default -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
+            case CURRENT -> bookingRepository.findCurrentOwnerPage(ownerId, start, id, limit);
+            case PAST -> bookingRepository.findPastOwnerPage(ownerId, now, start, id, limit);
+            case FUTURE -> bookingRepository.findFutureOwnerPage(ownerId, now, start, id, limit);
+            case WAITING -> bookingRepository.findOwnerPageByStatus(ownerId, Status.WAITING, start, id, limit);
+            case REJECTED -> bookingRepository.findOwnerPageByStatus(ownerId, Status.REJECTED, start, id, limit);
+            default -> bookingRepository.findOwnerPage(ownerId, start, id, limit);
         };
-        if (ownerBookings.isEmpty()) {
+        if (ownerBookings.isEmpty() && cursor == null) {
             throw new NotFoundException("У пользователя нет ни одной вещи");
         }
         return ownerBookings.stream()
                 .map(bookingMapper::toBookingDto)
                 .toList();
     }
+
+    private Limit checkPageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException(String.format("Некорректный размер страницы: %d (допустимо от 1 до %d)",
+                    size, MAX_PAGE_SIZE));
+        }
+        return Limit.of(size);
+    }
 }
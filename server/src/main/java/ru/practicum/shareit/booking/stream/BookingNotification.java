@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.stream;
+
+import ru.practicum.shareit.outbox.DomainEventType;
+
+public record BookingNotification(Long position, Long ownerId, DomainEventType type, String payload) {
+}
@@ -0,0 +1,290 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.exceptions.OverloadedException;
+import ru.practicum.shareit.outbox.OutboxCursor;
+import ru.practicum.shareit.outbox.OutboxCursorRepository;
+import ru.practicum.shareit.outbox.OutboxRecord;
+import ru.practicum.shareit.outbox.OutboxSink;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OwnerBookingStream implements OutboxSink {
+    private static final String BOOKING = "booking";
+    private static final String RESET = "RESET";
+
+    private final OutboxCursorRepository cursorRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int replayCapacity;
+    private final int clientQueue;
+    private final Duration timeout;
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<Long, Set<Subscriber>> subscribersByOwner = new HashMap<>();
+    private final Deque<BookingNotification> recent = new ArrayDeque<>();
+    private long coveredAfter = Long.MAX_VALUE;
+
+    public OwnerBookingStream(OutboxCursorRepository cursorRepository, ObjectMapper objectMapper,
+                              @Value("${shareit.bookings.stream.max-connections:10000}") int maxConnections,
+                              @Value("${shareit.bookings.stream.replay-capacity:10000}") int replayCapacity,
+                              @Value("${shareit.bookings.stream.client-queue:1000}") int clientQueue,
+                              @Value("${shareit.bookings.stream.sender-threads:16}") int senderThreads,
+                              @Value("${shareit.bookings.stream.timeout:30m}") Duration timeout,
+                              @Value("${shareit.bookings.stream.heartbeat:15s}") Duration heartbeat) {
+        this.cursorRepository = cursorRepository;
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.replayCapacity = Math.max(1, replayCapacity);
+        this.clientQueue = Math.max(2, clientQueue);
+        this.timeout = timeout;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("booking-stream").daemon().factory());
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads),
+                Thread.ofPlatform().name("booking-stream-sender-", 0).daemon().factory());
+        dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long position = cursorRepository.findById(OutboxCursor.RELAY)
+                .map(OutboxCursor::getPosition)
+                .orElse(0L);
+        submit(() -> coveredAfter = position);
+    }
+
+    public SseEmitter subscribe(Long ownerId, @Nullable Long lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new OverloadedException("Слишком много открытых потоков бронирований");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(ownerId, emitter);
+        emitter.onCompletion(() -> submit(() -> remove(subscriber, false)));
+        emitter.onTimeout(() -> submit(() -> remove(subscriber, false)));
+        emitter.onError(e -> submit(() -> remove(subscriber, false)));
+        submit(() -> register(subscriber, lastEventId));
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<OutboxRecord> records) {
+        List<BookingNotification> notifications = new ArrayList<>();
+        for (OutboxRecord outboxRecord : records) {
+            if (!BOOKING.equals(outboxRecord.aggregate())) {
+                continue;
+            }
+            try {
+                long ownerId = objectMapper.readTree(outboxRecord.payload()).path("ownerId").asLong();
+                notifications.add(new BookingNotification(outboxRecord.position(), ownerId, outboxRecord.type(),
+                        outboxRecord.payload()));
+            } catch (JsonProcessingException e) {
+                log.error("Событие {} не разобрано: {}", outboxRecord.id(), e.getMessage());
+            }
+        }
+        if (!notifications.isEmpty()) {
+            submit(() -> notifications.forEach(this::deliver));
+        }
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribersByOwner.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        senders.shutdown();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void submit(Runnable task) {
+        execute(dispatcher, task);
+    }
+
+    private void register(Subscriber subscriber, @Nullable Long lastEventId) {
+        subscribersByOwner.computeIfAbsent(subscriber.ownerId, id -> new HashSet<>()).add(subscriber);
+        List<Supplier<SseEmitter.SseEventBuilder>> events = new ArrayList<>();
+        events.add(() -> SseEmitter.event().comment("connected"));
+        if (lastEventId != null) {
+            List<BookingNotification> missed = lastEventId < coveredAfter ? null : recent.stream()
+                    .filter(notification -> notification.position() > lastEventId
+                            && subscriber.ownerId.equals(notification.ownerId()))
+                    .toList();
+            if (missed == null || missed.size() >= clientQueue) {
+                events.add(() -> SseEmitter.event().name(RESET).data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                missed.forEach(notification -> events.add(() -> toEvent(notification)));
+            }
+        }
+        events.forEach(event -> offer(subscriber, event));
+    }
+
+    private void deliver(BookingNotification notification) {
+        recent.addLast(notification);
+        while (recent.size() > replayCapacity) {
+            coveredAfter = Math.max(coveredAfter, recent.removeFirst().position());
+        }
+        Set<Subscriber> subscribers = subscribersByOwner.get(notification.ownerId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            offer(subscriber, () -> toEvent(notification));
+        }
+    }
+
+    private void heartbeat() {
+        subscribersByOwner.values().forEach(subscribers -> List.copyOf(subscribers)
+                .forEach(subscriber -> offer(subscriber, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    private void offer(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (!subscriber.offer(event)) {
+            log.debug("Поток бронирований владельца {} не успевает читать события и закрыт", subscriber.ownerId);
+            remove(subscriber, true);
+        }
+    }
+
+    private void remove(Subscriber subscriber, boolean close) {
+        Set<Subscriber> subscribers = subscribersByOwner.get(subscriber.ownerId);
+        if (subscribers == null || !subscribers.remove(subscriber)) {
+            return;
+        }
+        if (subscribers.isEmpty()) {
+            subscribersByOwner.remove(subscriber.ownerId);
+        }
+        connections.decrementAndGet();
+        if (close) {
+            subscriber.close();
+        } else {
+            subscriber.discard();
+        }
+    }
+
+    private static void execute(Executor executor, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Поток бронирований остановлен, задача пропущена");
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(BookingNotification notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.position()))
+                .name(notification.type().name())
+                .data(notification.payload(), MediaType.APPLICATION_JSON);
+    }
+
+    private final class Subscriber {
+        private final Long ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> pending = new ArrayBlockingQueue<>(clientQueue);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        private boolean offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed) {
+                return true;
+            }
+            if (!pending.offer(event)) {
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void close() {
+            closed = true;
+            pending.clear();
+            schedule();
+        }
+
+        private void discard() {
+            finished.set(true);
+            close();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                execute(senders, this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Supplier<SseEmitter.SseEventBuilder> event = closed ? null : pending.poll();
+                if (event == null) {
+                    if (closed) {
+                        if (finished.compareAndSet(false, true)) {
+                            emitter.complete();
+                        }
+                        return;
+                    }
+                    draining.set(false);
+                    if ((closed || !pending.isEmpty()) && draining.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | RuntimeException e) {
+                    closed = true;
+                    if (finished.compareAndSet(false, true)) {
+                        emitter.completeWithError(e);
+                    }
+                    submit(() -> remove(this, false));
+                    return;
+                }
+            }
+        }
+    }
+}
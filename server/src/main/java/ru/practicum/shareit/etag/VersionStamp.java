@@ -0,0 +1,4 @@
+package ru.practicum.shareit.etag;
+
+public record VersionStamp(long count, long maxId, long revision) {
+}
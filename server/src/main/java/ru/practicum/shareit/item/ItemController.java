@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.service.CommentResult;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.retry.ConflictRetry;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,15 +24,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService itemService;
+    private final ConflictRetry conflictRetry;
+    private final AvailabilityIndex availabilityIndex;
 
     @GetMapping
-    public List<ItemOwnerDto> getOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public List<ItemOwnerDto> getOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId, WebRequest request) {
+        if (request.checkNotModified(itemService.getOwnerItemsTag(userId))) {
+            return null;
+        }
         return itemService.getOwnerItems(userId);
     }
 
     @GetMapping("/{id}")
-    public ItemDto getItemById(@PathVariable Long id) {
-        return itemService.getItemById(id);
+    public ItemDto getItemById(@PathVariable Long id, WebRequest request) {
+        String tag = itemService.getItemTag(id);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        ItemDto item = itemService.getItemById(id);
+        if (!tag.equals(item.getTag())) {
+            item = itemService.reloadItem(id);
+        }
+        return item;
+    }
+
+    @GetMapping("/{id}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable Long id,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        itemService.getItemById(id);
+        return availabilityIndex.getAvailability(id, from, to);
     }
 
     @PostMapping
@@ -32,10 +64,16 @@ public class ItemController {
         return itemService.addItem(newItemRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult> addItems(@RequestBody List<NewItemRequest> newItemRequests,
+                                         @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.addItems(newItemRequests, userId);
+    }
+
     @PatchMapping("/{id}")
     public ItemDto updateItem(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") Long userId,
                               @PathVariable Long id) {
-        return itemService.updateItem(itemDto, userId, id);
+        return conflictRetry.execute(() -> itemService.updateItem(itemDto, userId, id));
     }
 
     @DeleteMapping("/{id}")
@@ -49,8 +87,12 @@ public class ItemController {
     }
 
     @PostMapping("{itemId}/comment")
-    public CommentDto addComment(@PathVariable Long itemId, @RequestBody CommentDto commentDto,
-                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
-        return itemService.addComment(itemId, commentDto, userId);
+    public ResponseEntity<CommentDto> addComment(@PathVariable Long itemId, @RequestBody CommentDto commentDto,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        CommentResult result = itemService.addComment(itemId, commentDto, userId);
+        if (result.pending()) {
+            return ResponseEntity.accepted().body(result.comment());
+        }
+        return ResponseEntity.ok(result.comment());
     }
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dao;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
@@ -21,4 +22,14 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             "AND b.end < CURRENT_TIMESTAMP")
     boolean existsApprovedPastBookingForUserAndItem(@Param("userId") Long userId, @Param("itemId") Long itemId);
 
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(c), COALESCE(MAX(c.id), 0L), COALESCE(SUM(c.author.version), 0L)) " +
+            "FROM Comment c " +
+            "WHERE c.item.id = :itemId")
+    VersionStamp getItemCommentsStamp(@Param("itemId") Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(c), COALESCE(MAX(c.id), 0L), COALESCE(SUM(c.author.version), 0L)) " +
+            "FROM Comment c " +
+            "WHERE c.item.owner.id = :ownerId")
+    VersionStamp getOwnerCommentsStamp(@Param("ownerId") Long ownerId);
+
 }
\ No newline at end of file
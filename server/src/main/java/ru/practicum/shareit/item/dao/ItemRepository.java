@@ -1,16 +1,29 @@
 package ru.practicum.shareit.item.dao;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerId(Long ownerId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT i FROM Item i " +
             "WHERE i.available = true " +
             "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
@@ -19,4 +32,24 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByRequestId(Long requestId);
 
+    List<Item> findAllByRequestIdIn(List<Long> requestIds);
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(i), COALESCE(MAX(i.id), 0L), COALESCE(SUM(i.version), 0L)) " +
+            "FROM Item i " +
+            "WHERE i.owner.id = :ownerId")
+    VersionStamp getOwnerItemsStamp(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(i), COALESCE(MAX(i.id), 0L), COALESCE(SUM(i.version), 0L)) " +
+            "FROM Item i " +
+            "WHERE i.request.id = :requestId")
+    VersionStamp getRequestItemsStamp(@Param("requestId") Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(i), COALESCE(MAX(i.id), 0L), COALESCE(SUM(i.version), 0L)) " +
+            "FROM Item i " +
+            "WHERE i.request.requestor.id = :requestorId")
+    VersionStamp getRequestorItemsStamp(@Param("requestorId") Long requestorId);
+
 }
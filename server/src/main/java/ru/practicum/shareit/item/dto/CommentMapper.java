@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item.dto;
 
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.metrics.MetricsConfig;
 
+@AnnotateWith(value = Timed.class, elements = {
+        @AnnotateWith.Element(name = "value", strings = MetricsConfig.MAPPING_TIMER),
+        @AnnotateWith.Element(name = "histogram", booleans = true)})
 @Mapper(componentModel = "spring")
 public interface CommentMapper {
 
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.VersionStamp;
 
 import java.util.List;
 
@@ -16,5 +19,17 @@ public class ItemDto {
     private List<CommentDto> comments;
     private BookingDto lastBooking;
     private BookingDto nextBooking;
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private VersionStamp commentsStamp;
 
+    @JsonIgnore
+    public String getTag() {
+        return tagOf(id, version, commentsStamp);
+    }
+
+    public static String tagOf(Long id, Long version, VersionStamp commentsStamp) {
+        return EntityTags.of("item", id, version, commentsStamp);
+    }
 }
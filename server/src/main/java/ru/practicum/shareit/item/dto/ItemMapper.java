@@ -1,19 +1,27 @@
 package ru.practicum.shareit.item.dto;
 
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.MetricsConfig;
 
+@AnnotateWith(value = Timed.class, elements = {
+        @AnnotateWith.Element(name = "value", strings = MetricsConfig.MAPPING_TIMER),
+        @AnnotateWith.Element(name = "histogram", booleans = true)})
 @Mapper(componentModel = "spring")
 public interface ItemMapper {
 
     @Mapping(target = "comments", ignore = true)
     @Mapping(target = "lastBooking", ignore = true)
     @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "commentsStamp", ignore = true)
     ItemDto toItemDto(Item item);
 
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "request", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item toItem(ItemDto itemDto);
 
     ItemOwnerDto toItemOwnerDto(Item item);
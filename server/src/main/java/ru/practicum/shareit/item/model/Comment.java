@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_id")
+    @SequenceGenerator(name = "comments_id", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
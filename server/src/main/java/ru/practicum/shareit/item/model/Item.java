@@ -15,7 +15,8 @@ import ru.practicum.shareit.user.User;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id")
+    @SequenceGenerator(name = "items_id", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,4 +36,8 @@ public class Item {
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+
+public record CommentResult(CommentDto comment, boolean pending) {
+
+    public static CommentResult saved(CommentDto comment) {
+        return new CommentResult(comment, false);
+    }
+
+    public static CommentResult queued(CommentDto comment) {
+        return new CommentResult(comment, true);
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.exceptions.OverloadedException;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.model.Comment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.comments.write-behind.enabled", havingValue = "true")
+public class CommentWriteBehind implements SmartLifecycle {
+    private static final int WRITER_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final CommentRepository commentRepository;
+    private final TransactionOperations transactionOperations;
+    @Nullable
+    private final Cache itemsCache;
+    private final BlockingQueue<Comment> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Timer flushTimer;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public CommentWriteBehind(CommentRepository commentRepository,
+                              TransactionOperations transactionOperations,
+                              @Nullable CacheManager cacheManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${shareit.comments.write-behind.capacity:10000}") int capacity,
+                              @Value("${shareit.comments.write-behind.batch-size:50}") int batchSize,
+                              @Value("${shareit.comments.write-behind.flush-interval:200ms}") Duration flushInterval,
+                              @Value("${shareit.comments.write-behind.offer-timeout:50ms}") Duration offerTimeout,
+                              @Value("${shareit.comments.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.commentRepository = commentRepository;
+        this.transactionOperations = transactionOperations;
+        this.itemsCache = cacheManager != null ? cacheManager.getCache("items") : null;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        Gauge.builder("shareit.comments.queue.depth", queue, BlockingQueue::size)
+                .description("Отзывы, ожидающие записи в базу")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("shareit.comments.flush")
+                .description("Время записи пакета отзывов")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("shareit.comments.rejected")
+                .description("Отзывы, отклонённые из-за переполненной очереди")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("shareit.comments.dropped")
+                .description("Отзывы, которые не удалось записать")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(Comment comment) {
+        if (!running) {
+            throw new OverloadedException("Приём отзывов остановлен");
+        }
+        try {
+            if (!queue.offer(comment, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedCounter.increment();
+                throw new OverloadedException("Очередь отзывов переполнена, повторите попытку позже");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OverloadedException("Постановка отзыва в очередь прервана");
+        }
+        if (!running && queue.remove(comment)) {
+            throw new OverloadedException("Приём отзывов остановлен");
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("comment-writer").daemon().start(this::drain);
+        log.info("Отложенная запись отзывов включена: очередь {}, пакет {}", queue.remainingCapacity(), batchSize);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Запись отзывов не завершилась за {}, в очереди осталось {}", shutdownTimeout, queue.size());
+        } else {
+            log.info("Очередь отзывов записана, приём остановлен");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WRITER_PHASE;
+    }
+
+    private void drain() {
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Comment first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Поток записи отзывов прерван, в очереди осталось {}", queue.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ошибка записи пакета отзывов: ", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Comment> batch) {
+        flushTimer.record(() -> {
+            try {
+                transactionOperations.executeWithoutResult(status -> commentRepository.saveAll(batch));
+            } catch (RuntimeException e) {
+                log.warn("Пакет из {} отзывов не записан, сохраняем по одному: {}", batch.size(), e.getMessage());
+                batch.forEach(this::saveSingle);
+            }
+        });
+        if (itemsCache != null) {
+            batch.stream()
+                    .map(comment -> comment.getItem().getId())
+                    .distinct()
+                    .forEach(itemsCache::evict);
+        }
+    }
+
+    private void saveSingle(Comment comment) {
+        comment.setId(null);
+        try {
+            transactionOperations.executeWithoutResult(status -> commentRepository.save(comment));
+        } catch (RuntimeException e) {
+            droppedCounter.increment();
+            log.error("Отзыв пользователя {} на вещь {} не записан: {}", comment.getAuthor().getId(),
+                    comment.getItem().getId(), e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchRowResult;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
@@ -11,16 +12,24 @@ public interface ItemService {
 
     List<ItemOwnerDto> getOwnerItems(Long userId);
 
+    String getOwnerItemsTag(Long userId);
+
     ItemDto getItemById(Long id);
 
+    ItemDto reloadItem(Long id);
+
+    String getItemTag(Long id);
+
     ItemDto addItem(NewItemRequest newItemRequest, Long userId);
 
+    List<BatchRowResult> addItems(List<NewItemRequest> newItemRequests, Long userId);
+
     ItemDto updateItem(ItemDto item, Long userId, Long id);
 
     void deleteItem(Long id);
 
     List<ItemDto> getItemsByText(String text);
 
-    CommentDto addComment(Long itemId, CommentDto comment, Long userId);
+    CommentResult addComment(Long itemId, CommentDto comment, Long userId);
 
 }
@@ -1,12 +1,21 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exceptions.CommentNotValidException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
@@ -15,6 +24,8 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.MetricsConfig;
+import ru.practicum.shareit.outbox.DomainEvent;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -23,9 +34,11 @@ import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,6 +46,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ItemServiceImp implements ItemService {
 
     private final ItemRepository itemRepository;
@@ -44,6 +58,8 @@ public class ItemServiceImp implements ItemService {
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<CommentWriteBehind> commentWriteBehind;
 
 
     @Override
@@ -60,11 +76,13 @@ public class ItemServiceImp implements ItemService {
         Map<Long, List<Comment>> commentsByItem = commentRepository.findAllByItemIdIn(itemIds)
                 .stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-        List<Booking> lastBookings = bookingRepository.findLastBookingsForItems(itemIds);
-        List<Booking> nextBookings = bookingRepository.findNextBookingsForItems(itemIds);
-        Map<Long, Booking> lastBookingsByItem = lastBookings.stream()
+        LocalDateTime now = LocalDateTime.now();
+        Map<Boolean, List<Booking>> bookingsByPast = bookingRepository.findLastAndNextBookingsForItems(itemIds, now)
+                .stream()
+                .collect(Collectors.partitioningBy(booking -> !booking.getEnd().isAfter(now)));
+        Map<Long, Booking> lastBookingsByItem = bookingsByPast.get(true).stream()
                 .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-        Map<Long, Booking> nextBookingsByItem = nextBookings.stream()
+        Map<Long, Booking> nextBookingsByItem = bookingsByPast.get(false).stream()
                 .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
         return items.stream()
                 .map(item -> {
@@ -85,6 +103,16 @@ public class ItemServiceImp implements ItemService {
                 }).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getOwnerItemsTag(Long userId) {
+        userService.getUserById(userId);
+        return EntityTags.of("owner-items", userId,
+                itemRepository.getOwnerItemsStamp(userId),
+                commentRepository.getOwnerCommentsStamp(userId),
+                bookingRepository.getOwnerApprovedBookingsStamp(userId, LocalDateTime.now()));
+    }
+
     private Item checkItem(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> {
@@ -95,18 +123,42 @@ public class ItemServiceImp implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "items", key = "#id")
     public ItemDto getItemById(Long id) {
         log.info("Получение вещи по id: {}", id);
+        return loadItem(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @CachePut(cacheNames = "items", key = "#id")
+    public ItemDto reloadItem(Long id) {
+        log.info("Перезагрузка устаревшей вещи в кэше: {}", id);
+        return loadItem(id);
+    }
+
+    private ItemDto loadItem(Long id) {
         Item item = checkItem(id);
         ItemDto itemDto = itemMapper.toItemDto(item);
         List<Comment> comments = commentRepository.findAllByItemId(id);
         itemDto.setComments(comments.stream()
                 .map(commentMapper::toCommentDto)
                 .collect(Collectors.toList()));
-
+        itemDto.setCommentsStamp(commentRepository.getItemCommentsStamp(id));
         return itemDto;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemTag(Long id) {
+        Long version = itemRepository.findVersionById(id)
+                .orElseThrow(() -> {
+                    log.error("Предмет с id {} не найден", id);
+                    return new NotFoundException(String.format("Предмет с id = %d не найден", id));
+                });
+        return ItemDto.tagOf(id, version, commentRepository.getItemCommentsStamp(id));
+    }
+
     @Override
     public ItemDto addItem(NewItemRequest newItemRequest, Long userId) {
 
@@ -123,11 +175,55 @@ public class ItemServiceImp implements ItemService {
             item.setRequest(request);
         }
         Item createdItem = itemRepository.save(item);
+        eventPublisher.publishEvent(DomainEvent.itemCreated(createdItem));
         return itemMapper.toItemDto(createdItem);
     }
 
+    @Override
+    public List<BatchRowResult> addItems(List<NewItemRequest> newItemRequests, Long userId) {
+        log.info("Пакетный импорт вещей владельца {}: {} строк", userId, newItemRequests.size());
+        User owner = userMapper.toUser(userService.getUserById(userId));
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(newItemRequests.stream()
+                        .map(NewItemRequest::getRequestId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        List<BatchRowResult> results = new ArrayList<>(newItemRequests.size());
+        List<BatchRowResult> createdRows = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < newItemRequests.size(); i++) {
+            NewItemRequest newItemRequest = newItemRequests.get(i);
+            Long requestId = newItemRequest.getRequestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                results.add(BatchRowResult.failed(i, BatchRowStatus.NOT_FOUND,
+                        String.format("Запрос с id = %d не найден", requestId)));
+                continue;
+            }
+            BatchRowResult row = BatchRowResult.created(i);
+            results.add(row);
+            createdRows.add(row);
+            items.add(Item.builder()
+                    .name(newItemRequest.getName())
+                    .description(newItemRequest.getDescription())
+                    .available(newItemRequest.getAvailable())
+                    .owner(owner)
+                    .request(requestId != null ? requests.get(requestId) : null)
+                    .build());
+        }
+        itemRepository.saveAll(items);
+        for (int i = 0; i < items.size(); i++) {
+            createdRows.get(i).setId(items.get(i).getId());
+            eventPublisher.publishEvent(DomainEvent.itemCreated(items.get(i)));
+        }
+        log.info("Пакетно импортировано вещей: {} из {}", items.size(), newItemRequests.size());
+        return results;
+    }
+
 
     @Override
+    @CacheEvict(cacheNames = "items", key = "#itemId")
     public ItemDto updateItem(ItemDto itemDto, Long userId, Long itemId) {
         log.info("Попытка обновления вещи с Id = {}", itemId);
         Item item = checkItem(itemId);
@@ -137,22 +233,27 @@ public class ItemServiceImp implements ItemService {
         Optional.ofNullable(itemDto.getName()).ifPresent(item::setName);
         Optional.ofNullable(itemDto.getDescription()).ifPresent(item::setDescription);
         Optional.ofNullable(itemDto.getAvailable()).ifPresent(item::setAvailable);
-        Item updatedItem = itemRepository.save(item);
+        Item updatedItem = itemRepository.saveAndFlush(item);
+        eventPublisher.publishEvent(DomainEvent.itemUpdated(updatedItem));
         log.info("Вещь с Id = {}, обновлена", itemId);
         return itemMapper.toItemDto(updatedItem);
     }
 
     @Override
+    @CacheEvict(cacheNames = "items", key = "#id")
     public void deleteItem(Long id) {
         log.info("Попытка удаления вещи с Id = {}", id);
         if (!itemRepository.existsById(id)) {
             throw new NotFoundException(String.format("Предмет с id = %d не найдена", id));
         }
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id));
+        eventPublisher.publishEvent(DomainEvent.itemDeleted(id));
         log.info("Пользователь с id = {} удалён", id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getItemsByText(String text) {
         log.info("Получение всех вещей по тексту");
         if (text == null || text.isEmpty()) {
@@ -164,7 +265,8 @@ public class ItemServiceImp implements ItemService {
     }
 
     @Override
-    public CommentDto addComment(Long itemId, CommentDto commentDto, Long userId) {
+    @CacheEvict(cacheNames = "items", key = "#itemId")
+    public CommentResult addComment(Long itemId, CommentDto commentDto, Long userId) {
         Item item = checkItem(itemId);
         UserDto authorDto = userService.getUserById(userId);
         User author = userMapper.toUser(authorDto);
@@ -177,10 +279,17 @@ public class ItemServiceImp implements ItemService {
                 .author(author)
                 .created(LocalDateTime.now())
                 .build();
+        CommentWriteBehind writeBehind = commentWriteBehind.getIfAvailable();
+        if (writeBehind != null) {
+            CommentDto accepted = commentMapper.toCommentDto(comment);
+            accepted.setAuthorName(author.getName());
+            writeBehind.enqueue(comment);
+            return CommentResult.queued(accepted);
+        }
         Comment savedComment = commentRepository.save(comment);
         CommentDto result = commentMapper.toCommentDto(savedComment);
         result.setAuthorName(author.getName());
-        return result;
+        return CommentResult.saved(result);
     }
 
 }
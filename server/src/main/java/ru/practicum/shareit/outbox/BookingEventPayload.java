@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox;
+
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+public record BookingEventPayload(Long id, Long itemId, Long ownerId, Long bookerId, LocalDateTime start,
+                                  LocalDateTime end, Status status) {
+
+    public static BookingEventPayload of(Booking booking) {
+        return new BookingEventPayload(booking.getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getBooker().getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus());
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox;
+
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+public record DomainEvent(DomainEventType type, Long aggregateId, Object payload) {
+
+    public static DomainEvent bookingCreated(Booking booking) {
+        return new DomainEvent(DomainEventType.BOOKING_CREATED, booking.getId(), BookingEventPayload.of(booking));
+    }
+
+    public static DomainEvent bookingDecided(Booking booking) {
+        return new DomainEvent(decisionType(booking.getStatus()), booking.getId(), BookingEventPayload.of(booking));
+    }
+
+    public static DomainEvent bookingDecided(BookingInterval interval, Long ownerId, Long bookerId) {
+        return new DomainEvent(decisionType(interval.status()), interval.id(),
+                new BookingEventPayload(interval.id(), interval.itemId(), ownerId, bookerId, interval.start(),
+                        interval.end(), interval.status()));
+    }
+
+    public static DomainEvent itemCreated(Item item) {
+        return new DomainEvent(DomainEventType.ITEM_CREATED, item.getId(), ItemEventPayload.of(item));
+    }
+
+    public static DomainEvent itemUpdated(Item item) {
+        return new DomainEvent(DomainEventType.ITEM_UPDATED, item.getId(), ItemEventPayload.of(item));
+    }
+
+    public static DomainEvent itemDeleted(Long itemId) {
+        return new DomainEvent(DomainEventType.ITEM_DELETED, itemId, ItemEventPayload.deleted(itemId));
+    }
+
+    private static DomainEventType decisionType(Status status) {
+        return status == Status.APPROVED ? DomainEventType.BOOKING_APPROVED : DomainEventType.BOOKING_REJECTED;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.outbox;
+
+public enum DomainEventType {
+    BOOKING_CREATED("booking"),
+    BOOKING_APPROVED("booking"),
+    BOOKING_REJECTED("booking"),
+    ITEM_CREATED("item"),
+    ITEM_UPDATED("item"),
+    ITEM_DELETED("item");
+
+    private final String aggregate;
+
+    DomainEventType(String aggregate) {
+        this.aggregate = aggregate;
+    }
+
+    public String getAggregate() {
+        return aggregate;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventBus implements OutboxSink {
+
+    private final List<Consumer<OutboxRecord>> subscribers = new CopyOnWriteArrayList<>();
+
+    public Runnable subscribe(Consumer<OutboxRecord> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxRecord> records) {
+        for (OutboxRecord outboxRecord : records) {
+            for (Consumer<OutboxRecord> subscriber : subscribers) {
+                try {
+                    subscriber.accept(outboxRecord);
+                } catch (RuntimeException e) {
+                    log.error("Подписчик не обработал событие {}: ", outboxRecord.id(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.practicum.shareit.item.model.Item;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemEventPayload(Long id, Long ownerId, String name, String description, Boolean available,
+                               Long requestId) {
+
+    public static ItemEventPayload of(Item item) {
+        return new ItemEventPayload(item.getId(), item.getOwner().getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getRequest() != null ? item.getRequest().getId() : null);
+    }
+
+    public static ItemEventPayload deleted(Long itemId) {
+        return new ItemEventPayload(itemId, null, null, null, null, null);
+    }
+}
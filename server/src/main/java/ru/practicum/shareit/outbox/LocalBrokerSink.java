@@ -0,0 +1,55 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "broker")
+public class LocalBrokerSink implements OutboxSink {
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final int retainedPerTopic;
+
+    public LocalBrokerSink(@Value("${shareit.outbox.broker.retained-per-topic:10000}") int retainedPerTopic) {
+        this.retainedPerTopic = Math.max(1, retainedPerTopic);
+    }
+
+    @Override
+    public void publish(List<OutboxRecord> records) {
+        for (OutboxRecord outboxRecord : records) {
+            topics.computeIfAbsent(outboxRecord.aggregate(), name -> new Topic()).append(outboxRecord);
+        }
+    }
+
+    public List<OutboxRecord> poll(String topic, long afterPosition, int max) {
+        Topic records = topics.get(topic);
+        if (records == null) {
+            return List.of();
+        }
+        return records.log.tailMap(afterPosition, false).values().stream()
+                .limit(max)
+                .toList();
+    }
+
+    private final class Topic {
+        private final NavigableMap<Long, OutboxRecord> log = new ConcurrentSkipListMap<>();
+        private int size;
+
+        private synchronized void append(OutboxRecord outboxRecord) {
+            if (log.put(outboxRecord.position(), outboxRecord) == null) {
+                size++;
+            }
+            while (size > retainedPerTopic) {
+                log.pollFirstEntry();
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_cursor")
+public class OutboxCursor {
+    public static final int RELAY = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long position;
+}
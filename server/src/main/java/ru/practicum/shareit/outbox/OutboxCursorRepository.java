@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxCursorRepository extends JpaRepository<OutboxCursor, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM OutboxCursor c WHERE c.id = :id")
+    Optional<OutboxCursor> findByIdForUpdate(@Param("id") Integer id);
+}
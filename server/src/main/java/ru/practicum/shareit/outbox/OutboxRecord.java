@@ -0,0 +1,14 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+public record OutboxRecord(Long id, Long position, String aggregate, Long aggregateId, DomainEventType type,
+                           @JsonRawValue String payload, LocalDateTime created) {
+
+    public static OutboxRecord of(OutboxMessage message) {
+        return new OutboxRecord(message.getId(), message.getPosition(), message.getAggregate(), message.getAggregateId(), message.getType(),
+                message.getPayload(), message.getCreated());
+    }
+}
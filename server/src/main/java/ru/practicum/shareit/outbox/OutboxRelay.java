@@ -0,0 +1,163 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+    private static final int RELAY_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxCursorRepository cursorRepository;
+    private final TransactionOperations transactionOperations;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private volatile boolean running;
+    private Thread relay;
+    private LocalDateTime nextPurge = LocalDateTime.MIN;
+    private List<OutboxRecord> undelivered;
+
+    @Autowired
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxCursorRepository cursorRepository,
+                       TransactionOperations transactionOperations,
+                       ObjectProvider<OutboxSink> sinks,
+                       @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                       @Value("${shareit.outbox.poll-interval:100ms}") Duration pollInterval,
+                       @Value("${shareit.outbox.retention:1d}") Duration retention) {
+        this(outboxRepository, cursorRepository, transactionOperations, sinks.orderedStream().toList(), batchSize,
+                pollInterval, retention);
+    }
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxCursorRepository cursorRepository,
+                       TransactionOperations transactionOperations, List<OutboxSink> sinks, int batchSize,
+                       Duration pollInterval, Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.cursorRepository = cursorRepository;
+        this.transactionOperations = transactionOperations;
+        this.sinks = sinks;
+        this.batchSize = Math.max(1, batchSize);
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+    }
+
+    public int relayBatch() {
+        if (undelivered == null) {
+            undelivered = claimBatch();
+        }
+        List<OutboxRecord> records = undelivered;
+        if (records.isEmpty()) {
+            undelivered = null;
+            return 0;
+        }
+        sinks.forEach(sink -> sink.publish(records));
+        undelivered = null;
+        return records.size();
+    }
+
+    private List<OutboxRecord> claimBatch() {
+        List<OutboxRecord> claimed = transactionOperations.execute(status -> {
+            OutboxCursor cursor = cursorRepository.findByIdForUpdate(OutboxCursor.RELAY)
+                    .orElseThrow(() -> new IllegalStateException("Не найден курсор публикации событий"));
+            List<OutboxMessage> batch = outboxRepository.findUnpublished(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return List.of();
+            }
+            LocalDateTime published = LocalDateTime.now();
+            long position = cursor.getPosition();
+            for (OutboxMessage message : batch) {
+                message.setPosition(++position);
+                message.setPublished(published);
+            }
+            cursor.setPosition(position);
+            return batch.stream()
+                    .map(OutboxRecord::of)
+                    .toList();
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        relay = Thread.ofPlatform().name("outbox-relay").daemon().start(this::run);
+        log.info("Публикация событий запущена: {} получателей, пакет {}", sinks.size(), batchSize);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            relay.join(pollInterval.multipliedBy(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Публикация событий остановлена");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return RELAY_PHASE;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relayBatch() < batchSize) {
+                    purgePublished();
+                    Thread.sleep(pollInterval);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ошибка публикации событий, повтор через {}: ", pollInterval, e);
+                try {
+                    Thread.sleep(pollInterval);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void purgePublished() {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plusMinutes(1);
+        Integer purged = transactionOperations.execute(status ->
+                outboxRepository.deletePublishedBefore(now.minus(retention)));
+        if (purged != null && purged > 0) {
+            log.debug("Удалено опубликованных событий: {}", purged);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    @Query("SELECT m FROM OutboxMessage m WHERE m.published IS NULL ORDER BY m.id")
+    List<OutboxMessage> findUnpublished(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.published < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
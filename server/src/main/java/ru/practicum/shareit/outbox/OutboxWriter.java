@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.payload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие " + event.type(), e);
+        }
+        outboxRepository.save(OutboxMessage.builder()
+                .aggregate(event.type().getAggregate())
+                .aggregateId(event.aggregateId())
+                .type(event.type())
+                .payload(payload)
+                .created(LocalDateTime.now())
+                .build());
+    }
+}
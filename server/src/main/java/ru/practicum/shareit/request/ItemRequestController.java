@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequestCreate;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -24,18 +25,28 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getUserItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
+    public List<ItemRequestDto> getUserItemRequests(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                    WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getUserItemRequestsTag(userId))) {
+            return null;
+        }
         return itemRequestService.getUserItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getOtherUsersItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemRequestService.getOtherUsersItemRequests(userId);
+    public List<ItemRequestDto> getOtherUsersItemRequests(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                          @RequestParam(defaultValue = "0") int from,
+                                                          @RequestParam(defaultValue = "100") int size) {
+        return itemRequestService.getOtherUsersItemRequests(userId, from, size);
     }
 
     @GetMapping("{requestId}")
     public ItemRequestDto getItemRequestById(@PathVariable Long requestId,
-                                             @RequestHeader(USER_ID_HEADER) Long userId) {
+                                             @RequestHeader(USER_ID_HEADER) Long userId,
+                                             WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getItemRequestTag(requestId, userId))) {
+            return null;
+        }
         return itemRequestService.getItemRequestById(requestId, userId);
     }
 }
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.request.dao;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.etag.VersionStamp;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
@@ -9,5 +12,17 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
 
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long requestorId);
 
-    List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long requestorId);
+    @Query("""
+            SELECT r FROM ItemRequest r
+            WHERE r.requestor.id <> :requestorId
+            ORDER BY r.created DESC, r.id DESC
+            OFFSET :offset ROWS FETCH FIRST :size ROWS ONLY
+            """)
+    List<ItemRequest> findOthersPage(@Param("requestorId") Long requestorId, @Param("offset") int offset,
+                                     @Param("size") int size);
+
+    @Query("SELECT new ru.practicum.shareit.etag.VersionStamp(COUNT(r), COALESCE(MAX(r.id), 0L), 0L) " +
+            "FROM ItemRequest r " +
+            "WHERE r.requestor.id = :requestorId")
+    VersionStamp getRequestorStamp(@Param("requestorId") Long requestorId);
 }
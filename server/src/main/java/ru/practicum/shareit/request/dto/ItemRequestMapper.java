@@ -1,10 +1,16 @@
 package ru.practicum.shareit.request.dto;
 
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.ItemRequestCreate;
 
+@AnnotateWith(value = Timed.class, elements = {
+        @AnnotateWith.Element(name = "value", strings = MetricsConfig.MAPPING_TIMER),
+        @AnnotateWith.Element(name = "histogram", booleans = true)})
 @Mapper(componentModel = "spring")
 public interface ItemRequestMapper {
 
@@ -10,7 +10,11 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getUserItemRequests(Long userId);
 
-    List<ItemRequestDto> getOtherUsersItemRequests(Long userId);
+    String getUserItemRequestsTag(Long userId);
+
+    List<ItemRequestDto> getOtherUsersItemRequests(Long userId, int from, int size);
 
     ItemRequestDto getItemRequestById(Long requestId, Long userId);
+
+    String getItemRequestTag(Long requestId, Long userId);
 }
@@ -1,45 +1,48 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.model.ItemRequestCreate;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
-    private final UserRepository userRepository;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final UserService userService;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
-
-    private User checkUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("Пользователь с id {} не найден", userId);
-                    return new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
-                });
-    }
+    private final UserMapper userMapper;
 
     private ItemRequest checkItemRequest(long requestId) {
         return itemRequestRepository.findById(requestId)
@@ -57,11 +60,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemDto>> itemsByRequest = itemRepository.findAllByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestDto dto = itemRequestMapper.toItemRequestDto(request);
+                    dto.setItems(itemsByRequest.getOrDefault(request.getId(), Collections.emptyList()));
+                    return dto;
+                }).toList();
+    }
+
     @Override
     public ItemRequestDto addItemRequest(ItemRequestCreate itemRequestCreate, Long userId) {
         log.info("Создание запроса на вещь. Пользователь ID: {}, Описание: {}",
                 userId, itemRequestCreate.getDescription());
-        User requester = checkUser(userId);
+        User requester = userMapper.toUser(userService.getUserById(userId));
 
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemRequestCreate);
 
@@ -76,43 +96,58 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public List<ItemRequestDto> getUserItemRequests(Long userId) {
         log.info("Получение запросов пользователя с ID: {}", userId);
-        checkUser(userId);
+        userService.getUserById(userId);
 
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
 
-        return requests.stream()
-                .map(request -> {
-                    ItemRequestDto dto = itemRequestMapper.toItemRequestDto(request);
-                    dto.setItems(getItemsForRequest(request.getId()));
-                    return dto;
-                }).toList();
+        return toItemRequestDtos(requests);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemRequestDto> getOtherUsersItemRequests(Long userId) {
-        log.info("Получение списка запросов, созданных другими пользователями");
-        checkUser(userId);
-
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId);
+    public String getUserItemRequestsTag(Long userId) {
+        userService.getUserById(userId);
+        return EntityTags.of("user-requests", userId,
+                itemRequestRepository.getRequestorStamp(userId),
+                itemRepository.getRequestorItemsStamp(userId));
+    }
 
-        return requests.stream()
-                .map(request -> {
-                    ItemRequestDto dto = itemRequestMapper.toItemRequestDto(request);
-                    dto.setItems(getItemsForRequest(request.getId()));
-                    return dto;
-                }).toList();
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> getOtherUsersItemRequests(Long userId, int from, int size) {
+        log.info("Получение списка запросов, созданных другими пользователями");
+        userService.getUserById(userId);
+        if (from < 0) {
+            throw new ValidationException(String.format("Некорректные параметры страницы: from=%d, size=%d",
+                    from, size));
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException(String.format("Некорректный размер страницы: %d (допустимо от 1 до %d)",
+                    size, MAX_PAGE_SIZE));
+        }
+
+        List<ItemRequest> requests = itemRequestRepository.findOthersPage(userId, from, size);
+
+        return toItemRequestDtos(requests);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequestDto getItemRequestById(Long requestId, Long userId) {
         log.info("Получение запроса ID: {}. Запросил пользователь ID: {}", requestId, userId);
-        checkUser(userId);
+        userService.getUserById(userId);
         ItemRequest itemRequest = checkItemRequest(requestId);
 
         ItemRequestDto itemRequestDto = itemRequestMapper.toItemRequestDto(itemRequest);
         itemRequestDto.setItems(getItemsForRequest(requestId));
         return itemRequestDto;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getItemRequestTag(Long requestId, Long userId) {
+        userService.getUserById(userId);
+        ItemRequest itemRequest = checkItemRequest(requestId);
+        return EntityTags.of("request", itemRequest.getId(), itemRepository.getRequestItemsStamp(requestId));
+    }
 }
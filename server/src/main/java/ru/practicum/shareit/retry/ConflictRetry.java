@@ -0,0 +1,48 @@
+package ru.practicum.shareit.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ConflictRetry {
+
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public ConflictRetry(@Value("${shareit.conflict-retry.max-attempts:1}") int maxAttempts,
+                         @Value("${shareit.conflict-retry.backoff:20ms}") Duration backoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Конфликт версий, попытка {} из {}", attempt + 1, maxAttempts);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long millis = backoff.toMillis() * attempt + ThreadLocalRandom.current().nextLong(backoff.toMillis() + 1);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -12,7 +12,8 @@ import lombok.*;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id")
+    @SequenceGenerator(name = "users_id", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,4 +21,8 @@ public class User {
 
     @Column(nullable = false)
     private String email;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
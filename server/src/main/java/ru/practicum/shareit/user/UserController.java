@@ -2,6 +2,8 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.retry.ConflictRetry;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -14,6 +16,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final ConflictRetry conflictRetry;
 
     @GetMapping
     public List<UserDto> findAll() {
@@ -30,10 +33,15 @@ public class UserController {
         return userService.addUser(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult> createUsers(@RequestBody List<UserDto> users) {
+        return userService.addUsers(users);
+    }
+
     @PatchMapping("/{id}")
     public UserDto updateUser(@RequestBody UserDto userDto,
                               @PathVariable Long id) {
-        return userService.updateUser(userDto, id);
+        return conflictRetry.execute(() -> userService.updateUser(userDto, id));
     }
 
     @DeleteMapping("/{id}")
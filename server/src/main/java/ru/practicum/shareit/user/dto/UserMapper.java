@@ -1,12 +1,20 @@
 package ru.practicum.shareit.user.dto;
 
+import io.micrometer.core.annotation.Timed;
+import org.mapstruct.AnnotateWith;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.user.User;
 
+@AnnotateWith(value = Timed.class, elements = {
+        @AnnotateWith.Element(name = "value", strings = MetricsConfig.MAPPING_TIMER),
+        @AnnotateWith.Element(name = "histogram", booleans = true)})
 @Mapper(componentModel = "spring")
 public interface UserMapper {
 
     UserDto toUserDto(User user);
 
+    @Mapping(target = "version", ignore = true)
     User toUser(UserDto userDto);
 }
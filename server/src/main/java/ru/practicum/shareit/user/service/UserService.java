@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchRowResult;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface UserService {
 
     UserDto addUser(UserDto user);
 
+    List<BatchRowResult> addUsers(List<UserDto> users);
+
     UserDto updateUser(UserDto user, Long id);
 
     void deleteUser(Long id);
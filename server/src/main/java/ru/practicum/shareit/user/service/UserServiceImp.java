@@ -1,27 +1,43 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
 import ru.practicum.shareit.exceptions.DuplicateException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.metrics.MetricsConfig;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 @Transactional
+@CacheConfig(cacheNames = "users")
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class UserServiceImp implements UserService {
 
     private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -42,6 +58,7 @@ public class UserServiceImp implements UserService {
 
     @Transactional(readOnly = true)
     @Override
+    @Cacheable(key = "#id")
     public UserDto getUserById(Long id) {
         return userMapper.toUserDto(checkUser(id));
     }
@@ -67,23 +84,66 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
+    public List<BatchRowResult> addUsers(List<UserDto> userDtos) {
+        log.info("Пакетное создание пользователей: {} строк", userDtos.size());
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(userDtos.stream()
+                .map(UserDto::getEmail)
+                .toList()));
+        List<BatchRowResult> results = new ArrayList<>(userDtos.size());
+        List<BatchRowResult> createdRows = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDto userDto = userDtos.get(i);
+            if (!takenEmails.add(userDto.getEmail())) {
+                results.add(BatchRowResult.failed(i, BatchRowStatus.DUPLICATE,
+                        "Пользователь с такой почтой уже существует"));
+                continue;
+            }
+            BatchRowResult row = BatchRowResult.created(i);
+            results.add(row);
+            createdRows.add(row);
+            users.add(userMapper.toUser(userDto));
+        }
+        try {
+            userRepository.saveAllAndFlush(users);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Пакет пользователей конфликтует с параллельной вставкой: {}", e.getMessage());
+            throw new DuplicateException("Пользователь с такой почтой уже существует");
+        }
+        for (int i = 0; i < users.size(); i++) {
+            createdRows.get(i).setId(users.get(i).getId());
+        }
+        log.info("Пакетно создано пользователей: {} из {}", users.size(), userDtos.size());
+        return results;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(key = "#id"),
+            @CacheEvict(cacheNames = "items", allEntries = true)
+    })
     public UserDto updateUser(UserDto userDto, Long id) {
         User user = checkUser(id);
         validateEmailUniqueness(userDto.getEmail(), user);
         Optional.ofNullable(userDto.getEmail()).ifPresent(user::setEmail);
         Optional.ofNullable(userDto.getName()).ifPresent(user::setName);
-        User updatedUser = userRepository.save(user);
+        User updatedUser = userRepository.saveAndFlush(user);
         log.info("Пользователь с id = {} обновлён", updatedUser.getId());
         return userMapper.toUserDto(updatedUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(key = "#id"),
+            @CacheEvict(cacheNames = "items", allEntries = true)
+    })
     public void deleteUser(Long id) {
         log.info("Удаление пользователя с Id = {}", id);
         if (!userRepository.existsById(id)) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", id));
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
         log.info("Пользователь с id = {} удалён", id);
     }
 }
@@ -1,13 +1,25 @@
+DROP TABLE IF EXISTS outbox_cursor;
+DROP TABLE IF EXISTS outbox;
 DROP TABLE IF EXISTS comments;
 DROP TABLE IF EXISTS bookings;
 DROP TABLE IF EXISTS items;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS outbox_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_seq START WITH 1 INCREMENT BY 1;
 
 CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
     name VARCHAR(50) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE
+    email VARCHAR(100) NOT NULL UNIQUE,
+    version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE IF NOT EXISTS requests (
@@ -19,12 +31,13 @@ CREATE TABLE IF NOT EXISTS requests (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     description VARCHAR(255) NOT NULL,
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE CASCADE
 );
@@ -36,13 +49,14 @@ CREATE TABLE IF NOT EXISTS bookings (
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
     status VARCHAR(20) NOT NULL CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED', 'CANCELED')),
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE,
     CHECK (end_date > start_date)
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
     text VARCHAR(255) NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -51,6 +65,28 @@ CREATE TABLE IF NOT EXISTS comments (
     FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+CREATE TABLE IF NOT EXISTS outbox (
+    id BIGINT DEFAULT nextval('outbox_seq') PRIMARY KEY,
+    aggregate VARCHAR(20) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    published TIMESTAMP WITHOUT TIME ZONE,
+    position BIGINT UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS outbox_cursor (
+    id INTEGER PRIMARY KEY,
+    position BIGINT NOT NULL
+);
+
+INSERT INTO outbox_cursor (id, position) VALUES (1, 0);
+
 CREATE INDEX idx_items_owner ON items(owner_id);
-CREATE INDEX idx_bookings_item ON bookings(item_id);
-CREATE INDEX idx_bookings_booker ON bookings(booker_id);
\ No newline at end of file
+CREATE INDEX idx_bookings_booker_start ON bookings(booker_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_booker_status_start ON bookings(booker_id, status, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_item_start ON bookings(item_id, start_date DESC, id DESC);
+CREATE INDEX idx_bookings_item_status_start ON bookings(item_id, status, start_date);
+CREATE INDEX idx_bookings_item_status_end ON bookings(item_id, status, end_date);
+CREATE INDEX idx_outbox_published ON outbox(published, id);
\ No newline at end of file
@@ -5,13 +5,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.retry.ConflictRetry;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
@@ -20,12 +25,15 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(ConflictRetry.class)
 class BookingControllerTest {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
@@ -81,6 +89,29 @@ class BookingControllerTest {
         verify(bookingService).getBookingById(anyLong(), anyLong());
     }
 
+    @Test
+    void approveBookingsShouldReturnPerIdOutcome() throws Exception {
+        when(bookingService.approveBookings(anyList(), eq(1L))).thenReturn(List.of(
+                BatchRowResult.builder().index(0).status(BatchRowStatus.UPDATED).id(5L).build(),
+                BatchRowResult.builder().index(1).status(BatchRowStatus.CONFLICT).id(6L)
+                        .error("Вещь с id = 1 уже забронирована на это время").build()));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(5L, true),
+                                new BookingDecisionDto(6L, true)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[1].id").value(6))
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"));
+
+        verify(bookingService).approveBookings(argThat(decisions -> decisions.size() == 2
+                && decisions.get(1).getBookingId() == 6L && decisions.get(1).getApproved()), eq(1L));
+        verify(bookingService, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
+    }
+
     @Test
     void approveBookingShouldReturnUpdatedBooking() throws Exception {
         BookingDto approvedBooking = testBooking.toBuilder()
@@ -101,7 +132,7 @@ class BookingControllerTest {
 
     @Test
     void getUserBookingsShouldReturnListOfBookings() throws Exception {
-        when(bookingService.getUserBookings(anyLong(), any(State.class)))
+        when(bookingService.getUserBookings(anyLong(), any(State.class), any(), anyInt()))
                 .thenReturn(List.of(testBooking));
 
         mockMvc.perform(get("/bookings")
@@ -112,12 +143,12 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(testBooking.getId()));
 
-        verify(bookingService).getUserBookings(anyLong(), any(State.class));
+        verify(bookingService).getUserBookings(anyLong(), any(State.class), any(), anyInt());
     }
 
     @Test
     void getOwnerBookingsShouldReturnListOfBookings() throws Exception {
-        when(bookingService.getOwnerBookings(anyLong(), any(State.class)))
+        when(bookingService.getOwnerBookings(anyLong(), any(State.class), any(), anyInt()))
                 .thenReturn(List.of(testBooking));
 
         mockMvc.perform(get("/bookings/owner")
@@ -128,7 +159,46 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(testBooking.getId()));
 
-        verify(bookingService).getOwnerBookings(anyLong(), any(State.class));
+        verify(bookingService).getOwnerBookings(anyLong(), any(State.class), any(), anyInt());
+    }
+
+    @Test
+    void getOwnerBookingsShouldReturnNextCursorForFullPage() throws Exception {
+        when(bookingService.getOwnerBookings(anyLong(), any(State.class), any(), anyInt()))
+                .thenReturn(List.of(testBooking));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.after(testBooking).encode()));
+
+        verify(bookingService).getOwnerBookings(eq(1L), eq(State.ALL), isNull(), eq(1));
+    }
+
+    @Test
+    void getUserBookingsShouldPassDecodedCursor() throws Exception {
+        BookingCursor cursor = BookingCursor.after(testBooking);
+        when(bookingService.getUserBookings(anyLong(), any(State.class), any(), anyInt()))
+                .thenReturn(List.of(testBooking));
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        verify(bookingService).getUserBookings(eq(1L), eq(State.ALL), eq(cursor), eq(100));
+    }
+
+    @Test
+    void getUserBookingsWithMalformedCursorShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1L)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).getUserBookings(anyLong(), any(State.class), any(), anyInt());
     }
 
     @Test
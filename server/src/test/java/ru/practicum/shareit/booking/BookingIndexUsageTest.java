@@ -0,0 +1,154 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingIndexUsageTest$LastStatementCaptor")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingIndexUsageTest {
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Long CURSOR_ID = Long.MAX_VALUE;
+    private static final Long USER_ID = 1L;
+    private static final Integer LIMIT = 10;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String database = jdbcTemplate.execute((java.sql.Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.execute("SET enable_seqscan = off");
+        }
+    }
+
+    @Test
+    void findBookerPageUsesBookerStartIndex() {
+        bookingRepository.findBookerPage(USER_ID, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertThat(explainLastStatement(USER_ID, CURSOR_START, CURSOR_ID, LIMIT))
+                .contains("idx_bookings_booker_start");
+    }
+
+    @Test
+    void findCurrentBookerPageReadsBookingsByIndex() {
+        bookingRepository.findCurrentBookerPage(USER_ID, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findPastBookerPageReadsBookingsByIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.findPastBookerPage(USER_ID, now, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, now, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findFutureBookerPageReadsBookingsByIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.findFutureBookerPage(USER_ID, now, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, now, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findBookerPageByStatusReadsBookingsByIndex() {
+        bookingRepository.findBookerPageByStatus(USER_ID, Status.WAITING, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, Status.WAITING.name(), CURSOR_START, CURSOR_ID,
+                LIMIT));
+    }
+
+    @Test
+    void findOwnerPageReadsBookingsByIndex() {
+        bookingRepository.findOwnerPage(USER_ID, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findCurrentOwnerPageReadsBookingsByIndex() {
+        bookingRepository.findCurrentOwnerPage(USER_ID, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findPastOwnerPageReadsBookingsByIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.findPastOwnerPage(USER_ID, now, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, now, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findFutureOwnerPageReadsBookingsByIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.findFutureOwnerPage(USER_ID, now, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, now, CURSOR_START, CURSOR_ID, LIMIT));
+    }
+
+    @Test
+    void findOwnerPageByStatusReadsBookingsByIndex() {
+        bookingRepository.findOwnerPageByStatus(USER_ID, Status.WAITING, CURSOR_START, CURSOR_ID, Limit.of(LIMIT));
+
+        assertBookingsReadByIndex(explainLastStatement(USER_ID, Status.WAITING.name(), CURSOR_START, CURSOR_ID,
+                LIMIT));
+    }
+
+    @Test
+    void findLastAndNextBookingsForItemsReadsBookingsByIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.findLastAndNextBookingsForItems(List.of(1L, 2L), now);
+
+        assertBookingsReadByIndex(explainLastStatement(now, now, 1L, 2L, now, now));
+    }
+
+    private void assertBookingsReadByIndex(String plan) {
+        assertThat(plan)
+                .doesNotContain("public.bookings.tablescan")
+                .doesNotContain("seq scan on bookings");
+    }
+
+    private String explainLastStatement(Object... parameters) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + LastStatementCaptor.lastSql, String.class,
+                parameters);
+        return plan.stream()
+                .collect(Collectors.joining("\n"))
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static class LastStatementCaptor implements StatementInspector {
+
+        private static volatile String lastSql;
+
+        @Override
+        public String inspect(String sql) {
+            lastSql = sql;
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({BookingServiceImpl.class, AvailabilityIndex.class, UserServiceImp.class, BookingMapperImpl.class, ItemMapperImpl.class,
+        UserMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingOverlapStressTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private User owner;
+    private Item item;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "stress-owner@example.com", 0));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(new User(null, "Booker " + i, "stress-booker" + i + "@example.com", 0)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void parallelApprovalsOfOverlappingBookingsLeaveOneApprovedPerWindow() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int round = 0; round < ROUNDS; round++) {
+            LocalDateTime start = base.plusDays(round);
+            List<Long> bookingIds = runConcurrently(i -> bookingService.addBooking(BookingRequestDto.builder()
+                    .itemId(item.getId())
+                    .start(start.plusMinutes(i))
+                    .end(start.plusHours(2).plusMinutes(i))
+                    .build(), bookers.get(i).getId()).getId())
+                    .stream()
+                    .map(Outcome::value)
+                    .toList();
+
+            List<Outcome<BookingDto>> approvals = runConcurrently(i ->
+                    bookingService.approveBooking(bookingIds.get(i), owner.getId(), true));
+
+            assertThat(approvals).filteredOn(Outcome::succeeded).hasSize(1);
+            assertThat(approvals).filteredOn(outcome -> !outcome.succeeded())
+                    .allSatisfy(outcome -> assertThat(outcome.error()).isInstanceOf(ConflictException.class));
+        }
+
+        assertThat(bookingRepository.findAll())
+                .filteredOn(booking -> booking.getStatus() == Status.APPROVED)
+                .hasSize(ROUNDS);
+    }
+
+    @Test
+    void parallelBookingsOverlappingApprovedBookingAreRejected() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Long approvedId = bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(4))
+                .build(), bookers.getFirst().getId()).getId();
+        bookingService.approveBooking(approvedId, owner.getId(), true);
+
+        List<Outcome<BookingDto>> attempts = runConcurrently(i -> bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(i % 2 == 0 ? start.plusHours(1) : start.plusHours(4))
+                .end(i % 2 == 0 ? start.plusHours(2) : start.plusHours(5))
+                .build(), bookers.get(i).getId()));
+
+        assertThat(attempts).filteredOn(Outcome::succeeded).hasSize(THREADS / 2);
+        assertThat(attempts).filteredOn(outcome -> !outcome.succeeded())
+                .allSatisfy(outcome -> assertThat(outcome.error()).isInstanceOf(ConflictException.class));
+    }
+
+    private <T> List<Outcome<T>> runConcurrently(IndexedTask<T> task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                Callable<T> call = () -> {
+                    ready.await();
+                    return task.run(index);
+                };
+                futures.add(executor.submit(call));
+            }
+            ready.countDown();
+        }
+        List<Outcome<T>> outcomes = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                outcomes.add(new Outcome<>(future.get(), null));
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome<>(null, e.getCause()));
+            }
+        }
+        return outcomes;
+    }
+
+    private interface IndexedTask<T> {
+        T run(int index);
+    }
+
+    private record Outcome<T>(T value, Throwable error) {
+        boolean succeeded() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingServiceImpl.class, AvailabilityIndex.class, UserServiceImp.class, BookingMapperImpl.class, ItemMapperImpl.class,
+        UserMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Booking firstBooking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com", 0));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        firstBooking = addBookings(1).get(0);
+    }
+
+    @Test
+    void getOwnerBookingsShouldRunConstantNumberOfStatements() {
+        long fewBookings = countStatements(() -> bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 100));
+        addBookings(20);
+        long manyBookings = countStatements(() -> bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 100));
+
+        assertEquals(2, fewBookings);
+        assertEquals(fewBookings, manyBookings);
+    }
+
+    @Test
+    void getUserBookingsShouldRunConstantNumberOfStatements() {
+        long fewBookings = countStatements(() -> bookingService.getUserBookings(booker.getId(), State.ALL, null, 100));
+        addBookings(20);
+        long manyBookings = countStatements(() -> bookingService.getUserBookings(booker.getId(), State.ALL, null, 100));
+
+        assertEquals(2, fewBookings);
+        assertEquals(fewBookings, manyBookings);
+    }
+
+    @Test
+    void approveBookingsShouldRunConstantNumberOfStatements() {
+        long fewBookings = countStatements(() -> bookingService.approveBookings(
+                decisions(List.of(firstBooking)), owner.getId()));
+        List<Booking> bookings = addBookings(20);
+        long manyBookings = countStatements(() -> bookingService.approveBookings(decisions(bookings), owner.getId()));
+
+        assertEquals(5, fewBookings);
+        assertEquals(fewBookings, manyBookings);
+    }
+
+    @Test
+    void getBookingByIdShouldLoadBookingInOneStatement() {
+        long statements = countStatements(() -> bookingService.getBookingById(firstBooking.getId(), booker.getId()));
+
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Booking> addBookings(int count) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build()));
+        }
+        return bookings;
+    }
+
+    private List<BookingDecisionDto> decisions(List<Booking> bookings) {
+        return bookings.stream()
+                .map(booking -> new BookingDecisionDto(booking.getId(), true))
+                .toList();
+    }
+}
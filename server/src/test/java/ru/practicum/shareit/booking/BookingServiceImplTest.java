@@ -5,14 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingApprovalTarget;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
@@ -28,18 +36,24 @@ import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImp;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
 
 @DataJpaTest
-@Import({BookingServiceImpl.class, UserServiceImp.class, ItemServiceImp.class, BookingMapperImpl.class,
+@Import({BookingServiceImpl.class, AvailabilityIndex.class, UserServiceImp.class, ItemServiceImp.class, BookingMapperImpl.class,
         UserMapperImpl.class, ItemMapperImpl.class, CommentMapperImpl.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class BookingServiceImplTest {
 
     @Autowired
+    private TestEntityManager entityManager;
+
+    @SpyBean
     private BookingRepository bookingRepository;
 
     @Autowired
@@ -64,8 +78,8 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
-        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com", 0));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
 
         item = itemRepository.save(
                 Item.builder()
@@ -121,7 +135,7 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookingsShouldReturnUserBookings() {
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.ALL);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.ALL, null, 10);
 
         assertFalse(result.isEmpty());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -156,7 +170,7 @@ class BookingServiceImplTest {
 
     @Test
     void getBookingByIdShouldThrowWhenNotAuthorized() {
-        User anotherUser = userRepository.save(new User(null, "Another", "another@example.com"));
+        User anotherUser = userRepository.save(new User(null, "Another", "another@example.com", 0));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.getBookingById(booking.getId(), anotherUser.getId()));
@@ -237,7 +251,7 @@ class BookingServiceImplTest {
                         .build()
         );
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.CURRENT);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.CURRENT, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(currentBooking.getId(), result.get(0).getId());
@@ -248,7 +262,7 @@ class BookingServiceImplTest {
         booking.setStatus(Status.WAITING);
         bookingRepository.save(booking);
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.WAITING);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.WAITING, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -266,7 +280,7 @@ class BookingServiceImplTest {
                         .build()
         );
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.PAST);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.PAST, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(pastBooking.getId(), result.get(0).getId());
@@ -277,7 +291,7 @@ class BookingServiceImplTest {
         booking.setStatus(Status.REJECTED);
         bookingRepository.save(booking);
 
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.REJECTED);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.REJECTED, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -285,7 +299,7 @@ class BookingServiceImplTest {
 
     @Test
     void getUserBookingsShouldReturnFutureBookings() {
-        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.FUTURE);
+        List<BookingDto> result = bookingService.getUserBookings(booker.getId(), State.FUTURE, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -293,7 +307,7 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookingsShouldReturnOwnerBookings() {
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.ALL);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 10);
 
         assertFalse(result.isEmpty());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -311,7 +325,7 @@ class BookingServiceImplTest {
                         .build()
         );
 
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.CURRENT);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.CURRENT, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(currentBooking.getId(), result.get(0).getId());
@@ -322,7 +336,7 @@ class BookingServiceImplTest {
         booking.setStatus(Status.WAITING);
         bookingRepository.save(booking);
 
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.WAITING);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.WAITING, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -340,7 +354,7 @@ class BookingServiceImplTest {
                         .build()
         );
 
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.PAST);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.PAST, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(pastBooking.getId(), result.get(0).getId());
@@ -351,7 +365,7 @@ class BookingServiceImplTest {
         booking.setStatus(Status.REJECTED);
         bookingRepository.save(booking);
 
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.REJECTED);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.REJECTED, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -359,7 +373,7 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookingsShouldReturnFutureBookings() {
-        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.FUTURE);
+        List<BookingDto> result = bookingService.getOwnerBookings(owner.getId(), State.FUTURE, null, 10);
 
         assertEquals(1, result.size());
         assertEquals(booking.getId(), result.get(0).getId());
@@ -367,10 +381,48 @@ class BookingServiceImplTest {
 
     @Test
     void getOwnerBookingsShouldThrowWhenNoItems() {
-        User userWithoutItems = userRepository.save(new User(null, "No Items", "noitems@example.com"));
+        User userWithoutItems = userRepository.save(new User(null, "No Items", "noitems@example.com", 0));
 
         assertThrows(NotFoundException.class,
-                () -> bookingService.getOwnerBookings(userWithoutItems.getId(), State.ALL));
+                () -> bookingService.getOwnerBookings(userWithoutItems.getId(), State.ALL, null, 10));
+    }
+
+    @Test
+    void getOwnerBookingsShouldPageByStartAndId() {
+        Booking later = bookingRepository.save(
+                Booking.builder()
+                        .start(LocalDateTime.now().plusDays(3))
+                        .end(LocalDateTime.now().plusDays(4))
+                        .item(item)
+                        .booker(booker)
+                        .status(Status.WAITING)
+                        .build()
+        );
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingDto> firstPage = bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 1);
+        List<BookingDto> secondPage = bookingService.getOwnerBookings(owner.getId(), State.ALL,
+                BookingCursor.after(firstPage.getLast()), 1);
+        List<BookingDto> lastPage = bookingService.getOwnerBookings(owner.getId(), State.ALL,
+                BookingCursor.after(secondPage.getLast()), 1);
+
+        assertEquals(later.getId(), firstPage.getFirst().getId());
+        assertEquals(booking.getId(), secondPage.getFirst().getId());
+        assertTrue(lastPage.isEmpty());
+    }
+
+    @Test
+    void getUserBookingsShouldRejectNonPositivePageSize() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getUserBookings(booker.getId(), State.ALL, null, 0));
+    }
+
+    @Test
+    void getOwnerBookingsShouldRejectPageSizeAboveGatewayLimit() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 1001));
+        assertEquals(1, bookingService.getOwnerBookings(owner.getId(), State.ALL, null, 1000).size());
     }
 
     @Test
@@ -401,4 +453,131 @@ class BookingServiceImplTest {
         assertThrows(NotFoundException.class,
                 () -> bookingService.addBooking(request, booker.getId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createBookingShouldThrowWhenOverlappingApprovedBooking() {
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+        BookingRequestDto request = BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(booking.getStart().plusMinutes(30))
+                .end(booking.getEnd().plusHours(1))
+                .build();
+
+        assertThrows(ConflictException.class, () -> bookingService.addBooking(request, booker.getId()));
+    }
+
+    @Test
+    void createBookingShouldAllowAdjacentAndWaitingOverlaps() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        BookingDto first = bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(2))
+                .build(), booker.getId());
+        BookingRequestDto overlappingWaiting = BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start.plusHours(1))
+                .end(start.plusHours(3))
+                .build();
+        assertNotNull(bookingService.addBooking(overlappingWaiting, booker.getId()).getId());
+
+        bookingService.approveBooking(first.getId(), owner.getId(), true);
+        BookingRequestDto adjacent = BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start.plusHours(2))
+                .end(start.plusHours(3))
+                .build();
+        assertNotNull(bookingService.addBooking(adjacent, booker.getId()).getId());
+    }
+
+    @Test
+    void approveBookingShouldThrowWhenOverlappingApprovedBooking() {
+        Booking overlapping = bookingRepository.save(
+                Booking.builder()
+                        .start(booking.getStart().minusMinutes(30))
+                        .end(booking.getEnd().minusMinutes(30))
+                        .item(item)
+                        .booker(booker)
+                        .status(Status.WAITING)
+                        .build()
+        );
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertThrows(ConflictException.class,
+                () -> bookingService.approveBooking(overlapping.getId(), owner.getId(), true));
+        assertEquals(Status.REJECTED,
+                bookingService.approveBooking(overlapping.getId(), owner.getId(), false).getStatus());
+        assertEquals(Status.APPROVED,
+                bookingService.approveBooking(booking.getId(), owner.getId(), true).getStatus());
+    }
+
+    @Test
+    void approveBookingsShouldReturnOutcomePerId() {
+        Booking overlapping = saveBooking(item, booking.getStart().plusMinutes(30), booking.getEnd().plusHours(1));
+        Booking later = saveBooking(item, booking.getEnd().plusDays(1), booking.getEnd().plusDays(2));
+        Item foreignItem = itemRepository.save(Item.builder()
+                .name("Foreign Item")
+                .description("Foreign Description")
+                .available(true)
+                .owner(booker)
+                .build());
+        Booking foreign = saveBooking(foreignItem, booking.getStart(), booking.getEnd());
+
+        List<BatchRowResult> results = bookingService.approveBookings(List.of(
+                new BookingDecisionDto(booking.getId(), true),
+                new BookingDecisionDto(overlapping.getId(), true),
+                new BookingDecisionDto(booking.getId(), false),
+                new BookingDecisionDto(999L, true),
+                new BookingDecisionDto(foreign.getId(), true),
+                new BookingDecisionDto(later.getId(), false)), owner.getId());
+
+        assertEquals(List.of(BatchRowStatus.UPDATED, BatchRowStatus.CONFLICT, BatchRowStatus.DUPLICATE,
+                BatchRowStatus.NOT_FOUND, BatchRowStatus.FORBIDDEN, BatchRowStatus.UPDATED),
+                results.stream().map(BatchRowResult::getStatus).toList());
+        assertEquals(List.of(booking.getId(), overlapping.getId(), booking.getId(), 999L, foreign.getId(),
+                later.getId()), results.stream().map(BatchRowResult::getId).toList());
+        assertEquals(Status.APPROVED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(Status.WAITING, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+        assertEquals(Status.REJECTED, bookingRepository.findById(later.getId()).orElseThrow().getStatus());
+        assertEquals(Status.WAITING, bookingRepository.findById(foreign.getId()).orElseThrow().getStatus());
+        assertEquals(1, bookingRepository.findById(booking.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void approveBookingsShouldLetRejectionFreeSlotForLaterApproval() {
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+        Booking overlapping = saveBooking(item, booking.getStart().plusMinutes(30), booking.getEnd().plusHours(1));
+
+        List<BatchRowResult> results = bookingService.approveBookings(List.of(
+                new BookingDecisionDto(booking.getId(), false),
+                new BookingDecisionDto(overlapping.getId(), true)), owner.getId());
+
+        assertTrue(results.stream().allMatch(row -> row.getStatus() == BatchRowStatus.UPDATED));
+        assertEquals(Status.REJECTED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(Status.APPROVED, bookingRepository.findById(overlapping.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void approveBookingsShouldReportConflictWhenBookingChangesAfterItWasRead() {
+        List<BookingApprovalTarget> readBeforePatch = bookingRepository.findApprovalTargets(List.of(booking.getId()));
+        bookingService.approveBooking(booking.getId(), owner.getId(), false);
+        doReturn(readBeforePatch).when(bookingRepository).findApprovalTargets(anyCollection());
+
+        List<BatchRowResult> results = bookingService.approveBookings(List.of(
+                new BookingDecisionDto(booking.getId(), true)), owner.getId());
+
+        assertEquals(BatchRowStatus.CONFLICT, results.getFirst().getStatus());
+        assertEquals(Status.REJECTED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(1, bookingRepository.findById(booking.getId()).orElseThrow().getVersion());
+    }
+
+    private Booking saveBooking(Item bookedItem, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(bookedItem)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build());
+    }
+}
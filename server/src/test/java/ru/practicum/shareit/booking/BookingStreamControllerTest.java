@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.stream.OwnerBookingStream;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.outbox.OutboxCursorRepository;
+import ru.practicum.shareit.outbox.OutboxRecord;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = BookingStreamController.class, properties = {
+        "shareit.bookings.stream.max-connections=2",
+        "shareit.bookings.stream.replay-capacity=2"})
+@Import(OwnerBookingStream.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingStreamControllerTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OwnerBookingStream ownerBookingStream;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private OutboxCursorRepository cursorRepository;
+
+    @Test
+    void streamPushesOnlyOwnersBookings() throws Exception {
+        MvcResult stream = open(1L, null);
+
+        ownerBookingStream.publish(List.of(booking(10L, 1L, DomainEventType.BOOKING_CREATED),
+                booking(11L, 2L, DomainEventType.BOOKING_CREATED),
+                booking(12L, 1L, DomainEventType.BOOKING_APPROVED)));
+
+        String body = awaitContent(stream, "data:{\"id\":12,\"ownerId\":1}");
+        assertThat(body).contains("id:10\nevent:BOOKING_CREATED\ndata:{\"id\":10,\"ownerId\":1}");
+        assertThat(body).contains("id:12\nevent:BOOKING_APPROVED");
+        assertThat(body).doesNotContain("id:11");
+    }
+
+    @Test
+    void reconnectReplaysEventsAfterLastEventId() throws Exception {
+        ownerBookingStream.publish(List.of(booking(10L, 1L, DomainEventType.BOOKING_CREATED),
+                booking(12L, 1L, DomainEventType.BOOKING_APPROVED)));
+
+        String body = awaitContent(open(1L, 10L), "id:12");
+
+        assertThat(body).doesNotContain("id:10");
+    }
+
+    @Test
+    void reconnectReplaysEventCommittedLateWithLowerId() throws Exception {
+        ownerBookingStream.publish(List.of(booking(12L, 1L, 1L, DomainEventType.BOOKING_CREATED),
+                booking(10L, 2L, 1L, DomainEventType.BOOKING_APPROVED)));
+
+        String body = awaitContent(open(1L, 1L), "data:{\"id\":10,\"ownerId\":1}");
+
+        assertThat(body).contains("id:2\n");
+        assertThat(body).doesNotContain("id:1\n");
+    }
+
+    @Test
+    void reconnectOutsideReplayWindowAsksToReload() throws Exception {
+        ownerBookingStream.publish(List.of(booking(10L, 1L, DomainEventType.BOOKING_CREATED),
+                booking(11L, 1L, DomainEventType.BOOKING_CREATED),
+                booking(12L, 1L, DomainEventType.BOOKING_CREATED)));
+
+        String body = awaitContent(open(1L, 9L), "event:RESET");
+
+        assertThat(body).doesNotContain("id:11");
+    }
+
+    @Test
+    void streamsOverLimitAreRejected() throws Exception {
+        open(1L, null);
+        open(2L, null);
+
+        mockMvc.perform(get("/bookings/owner/stream").header(USER_ID_HEADER, 3L))
+                .andExpect(status().isServiceUnavailable());
+        assertThat(ownerBookingStream.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownOwnerGetsNotFound() throws Exception {
+        when(userService.getUserById(5L)).thenThrow(new NotFoundException("Пользователь с id = 5 не найден"));
+
+        mockMvc.perform(get("/bookings/owner/stream").header(USER_ID_HEADER, 5L))
+                .andExpect(status().isNotFound());
+        assertThat(ownerBookingStream.getConnections()).isZero();
+    }
+
+    private MvcResult open(Long ownerId, Long lastEventId) throws Exception {
+        var streamRequest = get("/bookings/owner/stream").header(USER_ID_HEADER, ownerId);
+        if (lastEventId != null) {
+            streamRequest.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(streamRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String awaitContent(MvcResult stream, String expected)
+            throws UnsupportedEncodingException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+
+    private OutboxRecord booking(Long id, Long ownerId, DomainEventType type) {
+        return booking(id, id, ownerId, type);
+    }
+
+    private OutboxRecord booking(Long id, Long position, Long ownerId, DomainEventType type) {
+        return new OutboxRecord(id, position, "booking", id, type, "{\"id\":" + id + ",\"ownerId\":" + ownerId + "}",
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.stream.OwnerBookingStream;
+import ru.practicum.shareit.outbox.OutboxCursorRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = BookingStreamController.class, properties = "shareit.outbox.enabled=false")
+@Import(OwnerBookingStream.class)
+class BookingStreamDisabledTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private OutboxCursorRepository cursorRepository;
+
+    @Test
+    void streamIsNotFoundWithoutOutbox() throws Exception {
+        assertThat(context.getBeanNamesForType(OwnerBookingStream.class)).isEmpty();
+
+        mockMvc.perform(get("/bookings/owner/stream").header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+}
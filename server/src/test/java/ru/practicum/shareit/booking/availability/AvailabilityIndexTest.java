@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImp;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({AvailabilityIndex.class, BookingServiceImpl.class, ItemServiceImp.class, UserServiceImp.class,
+        BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class, CommentMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AvailabilityIndexTest {
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "index-owner@example.com", 0));
+        booker = userRepository.save(new User(null, "Booker", "index-booker@example.com", 0));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        availabilityIndex.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void reloadLoadsActiveBookingsFromRepository() {
+        saveBooking(start, start.plusDays(1), Status.APPROVED);
+        saveBooking(start.plusDays(2), start.plusDays(3), Status.WAITING);
+        saveBooking(start.plusDays(4), start.plusDays(5), Status.REJECTED);
+        saveBooking(start.minusDays(3), start.minusDays(2), Status.APPROVED);
+
+        availabilityIndex.reload();
+
+        assertThat(availabilityIndex.hasApprovedOverlap(item.getId(), start.plusHours(1), start.plusHours(2)))
+                .isTrue();
+        assertThat(availabilityIndex.hasApprovedOverlap(item.getId(), start.plusDays(2), start.plusDays(3)))
+                .isFalse();
+        assertThat(availabilityIndex.getBookings(item.getId(), start.minusDays(5), start.plusDays(10)))
+                .extracting(BookingInterval::status)
+                .containsExactly(Status.APPROVED, Status.WAITING);
+    }
+
+    @Test
+    void committedBookingChangesUpdateIndex() {
+        BookingDto booking = addBooking(start, start.plusDays(1));
+
+        assertThat(availabilityIndex.getBookings(item.getId(), start, start.plusDays(1)))
+                .extracting(BookingInterval::id, BookingInterval::status)
+                .containsExactly(tuple(booking.getId(), Status.WAITING));
+        assertThat(availabilityIndex.hasApprovedOverlap(item.getId(), start, start.plusDays(1))).isFalse();
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(availabilityIndex.hasApprovedOverlap(item.getId(), start, start.plusDays(1))).isTrue();
+        assertThatThrownBy(() -> addBooking(start.plusHours(2), start.plusHours(3)))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void rejectedBookingIsRemovedFromIndex() {
+        BookingDto booking = addBooking(start, start.plusDays(1));
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), false);
+
+        assertThat(availabilityIndex.getBookings(item.getId(), start, start.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    void staleApprovedIntervalInIndexDoesNotRejectBooking() {
+        availabilityIndex.onBookingChanged(new BookingChangedEvent(
+                new BookingInterval(999L, item.getId(), start, start.plusDays(1), Status.APPROVED)));
+        assertThat(availabilityIndex.hasApprovedOverlap(item.getId(), start, start.plusDays(1))).isTrue();
+
+        BookingDto booking = addBooking(start.plusHours(2), start.plusHours(3));
+
+        assertThat(booking.getStatus()).isEqualTo(Status.WAITING);
+    }
+
+    @Test
+    void deletedItemAndUserAreDroppedFromIndex() {
+        BookingDto booking = addBooking(start, start.plusDays(1));
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        itemService.deleteItem(item.getId());
+        assertThat(availabilityIndex.getBookings(item.getId(), start, start.plusDays(1))).isEmpty();
+
+        item = itemRepository.save(Item.builder()
+                .name("Saw")
+                .description("Hand saw")
+                .available(true)
+                .owner(owner)
+                .build());
+        addBooking(start, start.plusDays(1));
+        userService.deleteUser(booker.getId());
+        assertThat(availabilityIndex.getBookings(item.getId(), start, start.plusDays(1))).isEmpty();
+    }
+
+    private BookingDto addBooking(LocalDateTime bookingStart, LocalDateTime bookingEnd) {
+        return bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(bookingStart)
+                .end(bookingEnd)
+                .build(), booker.getId());
+    }
+
+    private void saveBooking(LocalDateTime bookingStart, LocalDateTime bookingEnd, Status status) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(bookingStart)
+                .end(bookingEnd)
+                .status(status)
+                .build());
+    }
+}
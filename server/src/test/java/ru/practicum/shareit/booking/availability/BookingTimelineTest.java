@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingTimelineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final BookingInterval longStay = interval(1L, 0, 100);
+    private final BookingInterval early = interval(2L, 10, 20);
+    private final BookingInterval late = interval(3L, 200, 210);
+    private final BookingTimeline timeline = BookingTimeline.of(List.of(late, longStay, early));
+
+    @Test
+    void overlapsFindsIntervalsThatStartedLongBefore() {
+        assertThat(timeline.overlaps(hours(50), hours(60))).isTrue();
+        assertThat(timeline.overlapping(hours(50), hours(60))).containsExactly(longStay);
+    }
+
+    @Test
+    void adjacentIntervalsDoNotOverlap() {
+        assertThat(timeline.overlaps(hours(100), hours(200))).isFalse();
+        assertThat(timeline.overlapping(hours(100), hours(200))).isEmpty();
+        assertThat(timeline.overlaps(hours(-10), hours(0))).isFalse();
+    }
+
+    @Test
+    void overlappingIsSortedByStart() {
+        assertThat(timeline.overlapping(hours(15), hours(205))).containsExactly(longStay, early, late);
+    }
+
+    @Test
+    void withReplacesIntervalWithSameId() {
+        BookingTimeline moved = timeline.with(interval(2L, 300, 310), NOW);
+
+        assertThat(moved.size()).isEqualTo(3);
+        assertThat(moved.overlapping(hours(15), hours(18))).containsExactly(longStay);
+        assertThat(moved.overlaps(hours(305), hours(306))).isTrue();
+    }
+
+    @Test
+    void withoutRemovesIntervalAndPrunesEndedOnes() {
+        BookingTimeline pruned = timeline.without(3L, NOW.plusHours(50));
+
+        assertThat(pruned.overlapping(hours(0), hours(300))).containsExactly(longStay);
+        assertThat(pruned.without(1L, NOW).isEmpty()).isTrue();
+    }
+
+    @Test
+    void emptyTimelineHasNoOverlaps() {
+        assertThat(BookingTimeline.EMPTY.overlaps(hours(0), hours(1000))).isFalse();
+        assertThat(BookingTimeline.EMPTY.overlapping(hours(0), hours(1000))).isEmpty();
+    }
+
+    private static BookingInterval interval(Long id, int startHour, int endHour) {
+        return new BookingInterval(id, 1L, hours(startHour), hours(endHour), Status.APPROVED);
+    }
+
+    private static LocalDateTime hours(int hours) {
+        return NOW.plusHours(hours);
+    }
+}
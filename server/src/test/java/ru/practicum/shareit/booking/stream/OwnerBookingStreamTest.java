@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.outbox.DomainEventType;
+import ru.practicum.shareit.outbox.OutboxCursorRepository;
+import ru.practicum.shareit.outbox.OutboxRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OwnerBookingStreamTest {
+
+    private final CountDownLatch stalledWrite = new CountDownLatch(1);
+    private final CountDownLatch stalledClosed = new CountDownLatch(1);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final Deque<SseEmitter> emitters = new ArrayDeque<>(List.of(new StalledEmitter(),
+            new RecordingEmitter(received)));
+    private final OwnerBookingStream stream = new OwnerBookingStream(mock(OutboxCursorRepository.class),
+            new ObjectMapper(), 10, 100, 3, 2, Duration.ofMinutes(1), Duration.ofHours(1)) {
+        @Override
+        SseEmitter newEmitter() {
+            return emitters.pop();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        stalledWrite.countDown();
+        stream.shutdown();
+    }
+
+    @Test
+    void stalledClientDoesNotDelayOtherOwnersAndIsClosedWhenItsQueueIsFull() throws InterruptedException {
+        stream.subscribe(2L, null);
+        stream.subscribe(1L, null);
+
+        stream.publish(List.of(booking(1L, 2L), booking(2L, 2L), booking(3L, 2L), booking(4L, 2L),
+                booking(5L, 1L)));
+
+        awaitReceived("\"id\":5");
+        assertThat(received).noneMatch(data -> data.contains("\"ownerId\":2"));
+        awaitConnections(1);
+
+        stalledWrite.countDown();
+        assertThat(stalledClosed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void streamsOfTheSameOwnerReceiveIdenticalEvents() throws InterruptedException {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        emitters.clear();
+        emitters.add(new RecordingEmitter(first));
+        emitters.add(new RecordingEmitter(second));
+        stream.subscribe(1L, null);
+        stream.subscribe(1L, null);
+
+        stream.publish(List.of(booking(1L, 1L), booking(2L, 1L)));
+
+        awaitReceived(first, "\"id\":2");
+        awaitReceived(second, "\"id\":2");
+        assertThat(second).isEqualTo(first);
+        assertThat(first).filteredOn(data -> data.contains("\"id\":1")).hasSize(1);
+        assertThat(stream.getConnections()).isEqualTo(2);
+    }
+
+    private void awaitReceived(String expected) throws InterruptedException {
+        awaitReceived(received, expected);
+    }
+
+    private void awaitReceived(List<String> received, String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.stream().noneMatch(data -> data.contains(expected)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(received).anyMatch(data -> data.contains(expected));
+    }
+
+    private void awaitConnections(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stream.getConnections() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(stream.getConnections()).isEqualTo(expected);
+    }
+
+    private OutboxRecord booking(Long id, Long ownerId) {
+        return new OutboxRecord(id, id, "booking", id, DomainEventType.BOOKING_CREATED,
+                "{\"id\":" + id + ",\"ownerId\":" + ownerId + "}", LocalDateTime.now());
+    }
+
+    private final class StalledEmitter extends SseEmitter {
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                stalledWrite.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            stalledClosed.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> received;
+
+        private RecordingEmitter(List<String> received) {
+            this.received = received;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().forEach(data -> received.add(String.valueOf(data.getData())));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.exceptions.*;
@@ -32,6 +33,14 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().get("Message")).isEqualTo("duplicate");
     }
 
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        OptimisticLockingFailureException ex = new OptimisticLockingFailureException("stale");
+        ResponseEntity<Map<String, String>> response = handler.handleOptimisticLockingFailure(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().get("error")).isEqualTo("Conflict");
+    }
+
     @Test
     void testHandleAllUncaughtException() {
         Exception ex = new Exception("unexpected");
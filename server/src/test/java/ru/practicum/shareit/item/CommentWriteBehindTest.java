@@ -0,0 +1,229 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exceptions.OverloadedException;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.CommentResult;
+import ru.practicum.shareit.item.service.CommentWriteBehind;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImp;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "shareit.comments.write-behind.enabled=true")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({ItemServiceImp.class, UserServiceImp.class, CommentWriteBehind.class, SimpleMeterRegistry.class,
+        ItemMapperImpl.class, UserMapperImpl.class, CommentMapperImpl.class, BookingMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentWriteBehindTest {
+
+    private static final int COMMENTS = 200;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CommentWriteBehind commentWriteBehind;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User(null, "Owner", "write-behind-owner@example.com", 0));
+        booker = userRepository.save(new User(null, "Booker", "write-behind-booker@example.com", 0));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void acceptedCommentIsWrittenInBackgroundAndEvictsItem() throws InterruptedException {
+        CommentResult result = itemService.addComment(item.getId(), CommentDto.builder().text("Great").build(),
+                booker.getId());
+        CommentDto accepted = result.comment();
+        itemService.getItemById(item.getId());
+
+        assertThat(result.pending()).isTrue();
+        assertThat(accepted.getId()).isNull();
+        assertThat(accepted.getAuthorName()).isEqualTo("Booker");
+        assertThat(accepted.getCreated()).isNotNull();
+        awaitComments(1);
+        assertThat(itemService.getItemById(item.getId()).getComments())
+                .extracting(CommentDto::getText)
+                .containsExactly("Great");
+        assertThat(meterRegistry.get("shareit.comments.flush").timer().count()).isPositive();
+    }
+
+    @Test
+    void stopDrainsQueueBeforeReturning() {
+        for (int i = 0; i < COMMENTS; i++) {
+            itemService.addComment(item.getId(), CommentDto.builder().text("Comment " + i).build(), booker.getId());
+        }
+
+        commentWriteBehind.stop();
+        try {
+            assertThat(commentRepository.count()).isEqualTo(COMMENTS);
+            assertThat(meterRegistry.get("shareit.comments.queue.depth").gauge().value()).isZero();
+            assertThatThrownBy(() -> commentWriteBehind.enqueue(comment(1L, "Late")))
+                    .isInstanceOf(OverloadedException.class);
+        } finally {
+            commentWriteBehind.start();
+        }
+    }
+
+    @Test
+    void fullQueueRejectsNewComments() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Comment> saved = new CopyOnWriteArrayList<>();
+        CommentRepository repository = mock(CommentRepository.class);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CommentWriteBehind writer = standalone(repository, registry, 2);
+
+        writer.start();
+        try {
+            writer.enqueue(comment(1L, "First"));
+            assertThat(flushing.await(5, TimeUnit.SECONDS)).isTrue();
+            writer.enqueue(comment(1L, "Second"));
+            writer.enqueue(comment(1L, "Third"));
+
+            assertThatThrownBy(() -> writer.enqueue(comment(1L, "Fourth")))
+                    .isInstanceOf(OverloadedException.class);
+            assertThat(registry.get("shareit.comments.queue.depth").gauge().value()).isEqualTo(2);
+            assertThat(registry.get("shareit.comments.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            writer.stop();
+        }
+        assertThat(saved).extracting(Comment::getText).containsExactly("First", "Second", "Third");
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRow() {
+        CommentRepository repository = mock(CommentRepository.class);
+        when(repository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("item_id"));
+        when(repository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment comment = invocation.getArgument(0);
+            if (comment.getItem().getId() == 2L) {
+                throw new DataIntegrityViolationException("item_id");
+            }
+            return comment;
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CommentWriteBehind writer = standalone(repository, registry, 10);
+
+        writer.start();
+        writer.enqueue(comment(1L, "Kept"));
+        writer.enqueue(comment(2L, "Item deleted"));
+        writer.enqueue(comment(1L, "Also kept"));
+        writer.stop();
+
+        verify(repository, times(3)).save(any(Comment.class));
+        assertThat(registry.get("shareit.comments.dropped").counter().count()).isEqualTo(1);
+    }
+
+    private CommentWriteBehind standalone(CommentRepository repository, MeterRegistry registry, int capacity) {
+        return new CommentWriteBehind(repository, TransactionOperations.withoutTransaction(), null, registry,
+                capacity, 50, Duration.ofMillis(20), Duration.ofMillis(20), Duration.ofSeconds(5));
+    }
+
+    private Comment comment(Long itemId, String text) {
+        return Comment.builder()
+                .text(text)
+                .item(Item.builder().id(itemId).build())
+                .author(new User(1L, "Booker", "booker@example.com", 0))
+                .created(LocalDateTime.now())
+                .build();
+    }
+
+    private void awaitComments(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (commentRepository.count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(commentRepository.count()).isEqualTo(expected);
+    }
+}
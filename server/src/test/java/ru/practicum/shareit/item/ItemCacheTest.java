@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImp;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CacheConfig.class, ItemServiceImp.class, UserServiceImp.class, ItemMapperImpl.class, UserMapperImpl.class,
+        CommentMapperImpl.class, BookingMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com", 0));
+        item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getItemByIdShouldHitDatabaseOnce() {
+        itemService.getItemById(item.getId());
+        statistics.clear();
+
+        ItemDto result = itemService.getItemById(item.getId());
+
+        assertEquals(item.getName(), result.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateItemShouldEvictCachedItem() {
+        itemService.getItemById(item.getId());
+
+        itemService.updateItem(ItemDto.builder().name("Hammer drill").build(), owner.getId(), item.getId());
+
+        assertEquals("Hammer drill", itemService.getItemById(item.getId()).getName());
+    }
+
+    @Test
+    void readBeforeUpdateCommitsShouldNotKeepStaleItem() {
+        itemService.getItemById(item.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.updateItem(ItemDto.builder().name("Hammer drill").build(), owner.getId(), item.getId());
+            assertEquals("Drill", readInOtherThread());
+        });
+
+        assertEquals("Hammer drill", itemService.getItemById(item.getId()).getName());
+    }
+
+    @Test
+    void cachedItemShouldCarryTagOfStateItWasLoadedFrom() {
+        ItemDto cached = itemService.getItemById(item.getId());
+        assertEquals(itemService.getItemTag(item.getId()), cached.getTag());
+
+        item.setName("Changed elsewhere");
+        item = itemRepository.save(item);
+
+        assertNotEquals(itemService.getItemTag(item.getId()), itemService.getItemById(item.getId()).getTag());
+        assertEquals("Changed elsewhere", itemService.reloadItem(item.getId()).getName());
+        statistics.clear();
+        ItemDto reloaded = itemService.getItemById(item.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Changed elsewhere", reloaded.getName());
+        assertEquals(itemService.getItemTag(item.getId()), reloaded.getTag());
+    }
+
+    @Test
+    void deleteItemShouldEvictCachedItem() {
+        itemService.getItemById(item.getId());
+
+        itemService.deleteItem(item.getId());
+
+        assertThrows(NotFoundException.class, () -> itemService.getItemById(item.getId()));
+    }
+
+    @Test
+    void addCommentShouldEvictCachedItem() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .build());
+        itemService.getItemById(item.getId());
+
+        itemService.addComment(item.getId(), CommentDto.builder().text("Works well").build(), booker.getId());
+
+        assertEquals(1, itemService.getItemById(item.getId()).getComments().size());
+    }
+
+    @Test
+    void updateUserShouldEvictCachedItems() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .build());
+        itemService.addComment(item.getId(), CommentDto.builder().text("Works well").build(), booker.getId());
+        itemService.getItemById(item.getId());
+
+        userService.updateUser(new UserDto(null, "Renamed", null), booker.getId());
+
+        assertEquals("Renamed", itemService.getItemById(item.getId()).getComments().get(0).getAuthorName());
+    }
+
+    private String readInOtherThread() {
+        try {
+            return CompletableFuture.supplyAsync(() -> itemService.getItemById(item.getId()).getName())
+                    .get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,26 +5,41 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.availability.BookingChangedEvent;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.OverloadedException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.service.CommentResult;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.retry.ConflictRetry;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@Import({ConflictRetry.class, AvailabilityIndex.class})
 class ItemControllerTest {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
@@ -34,6 +49,12 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -73,6 +94,76 @@ class ItemControllerTest {
         verify(itemService).getOwnerItems(anyLong());
     }
 
+    @Test
+    void getOwnerItemsShouldReturnETag() throws Exception {
+        when(itemService.getOwnerItemsTag(1L)).thenReturn("\"owner-items\"");
+        when(itemService.getOwnerItems(1L)).thenReturn(List.of(testItemOwner));
+
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"owner-items\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void getOwnerItemsShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(itemService.getOwnerItemsTag(1L)).thenReturn("\"owner-items\"");
+
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, 1L)
+                        .header("If-None-Match", "\"owner-items\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"owner-items\""))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getOwnerItems(anyLong());
+    }
+
+    @Test
+    void getItemByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn("\"item\"");
+
+        mockMvc.perform(get("/items/1")
+                        .header("If-None-Match", "\"other\", \"item\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemById(anyLong());
+    }
+
+    @Test
+    void getItemByIdShouldReturnItemWhenETagChanged() throws Exception {
+        when(itemService.getItemTag(1L)).thenReturn(testItem.getTag());
+        when(itemService.getItemById(1L)).thenReturn(testItem);
+
+        mockMvc.perform(get("/items/1")
+                        .header("If-None-Match", "\"item-v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", testItem.getTag()))
+                .andExpect(jsonPath("$.id").value(testItem.getId()))
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        verify(itemService, never()).reloadItem(anyLong());
+    }
+
+    @Test
+    void getItemByIdShouldReloadCachedItemOlderThanETag() throws Exception {
+        ItemDto current = ItemDto.builder()
+                .id(1L)
+                .name("Renamed Item")
+                .version(1L)
+                .build();
+        when(itemService.getItemTag(1L)).thenReturn(current.getTag());
+        when(itemService.getItemById(1L)).thenReturn(testItem);
+        when(itemService.reloadItem(1L)).thenReturn(current);
+
+        mockMvc.perform(get("/items/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", current.getTag()))
+                .andExpect(jsonPath("$.name").value("Renamed Item"));
+    }
+
 //    @Test
 //    void getItemByIdShouldReturnItem() throws Exception {
 //        when(itemService.getItemById(anyLong())).thenReturn(testItemOwner);
@@ -144,7 +235,8 @@ class ItemControllerTest {
 
     @Test
     void createCommentShouldReturnCreatedComment() throws Exception {
-        when(itemService.addComment(anyLong(), any(CommentDto.class), anyLong())).thenReturn(testComment);
+        when(itemService.addComment(anyLong(), any(CommentDto.class), anyLong()))
+                .thenReturn(CommentResult.saved(testComment));
 
         mockMvc.perform(post("/items/1/comment")
                         .header(USER_ID_HEADER, 1L)
@@ -157,6 +249,38 @@ class ItemControllerTest {
         verify(itemService).addComment(anyLong(), any(CommentDto.class), anyLong());
     }
 
+    @Test
+    void createCommentShouldReturnAcceptedWhenWriteIsDeferred() throws Exception {
+        CommentDto queued = CommentDto.builder()
+                .text("Test Comment")
+                .authorName("Test Author")
+                .created(LocalDateTime.now())
+                .build();
+        when(itemService.addComment(anyLong(), any(CommentDto.class), anyLong()))
+                .thenReturn(CommentResult.queued(queued));
+
+        mockMvc.perform(post("/items/1/comment")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(queued)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.authorName").value("Test Author"));
+    }
+
+    @Test
+    void createCommentShouldReturn503WhenQueueIsFull() throws Exception {
+        when(itemService.addComment(anyLong(), any(CommentDto.class), anyLong()))
+                .thenThrow(new OverloadedException("Очередь отзывов переполнена, повторите попытку позже"));
+
+        mockMvc.perform(post("/items/1/comment")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testComment)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void getItemByIdWhenNotFoundShouldReturn404() throws Exception {
         when(itemService.getItemById(anyLong()))
@@ -170,4 +294,74 @@ class ItemControllerTest {
         verify(itemService).getItemById(anyLong());
     }
 
-}
\ No newline at end of file
+    @Test
+    void addItemsShouldReturnPerRowStatus() throws Exception {
+        NewItemRequest newItem = NewItemRequest.builder()
+                .name("New Item")
+                .description("New Description")
+                .available(true)
+                .requestId(99L)
+                .build();
+        when(itemService.addItems(anyList(), eq(1L))).thenReturn(List.of(
+                BatchRowResult.failed(0, BatchRowStatus.NOT_FOUND, "Запрос с id = 99 не найден")));
+
+        mockMvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(newItem))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[0].error").value("Запрос с id = 99 не найден"));
+
+        verify(itemService).addItems(argThat(items -> items.get(0).getRequestId() == 99L), eq(1L));
+    }
+
+    @Test
+    void getItemAvailabilityShouldReturnBusyIntervals() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        availabilityIndex.onBookingChanged(new BookingChangedEvent(
+                new BookingInterval(5L, 1L, start, start.plusDays(2), Status.APPROVED)));
+        availabilityIndex.onBookingChanged(new BookingChangedEvent(
+                new BookingInterval(6L, 1L, start.plusDays(3), start.plusDays(4), Status.WAITING)));
+        when(itemService.getItemById(1L)).thenReturn(testItem);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", start.plusDays(1).toString())
+                        .param("to", start.plusDays(5).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1))
+                .andExpect(jsonPath("$.available").value(false))
+                .andExpect(jsonPath("$.bookings", hasSize(2)))
+                .andExpect(jsonPath("$.bookings[0].id").value(5))
+                .andExpect(jsonPath("$.bookings[1].status").value("WAITING"));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", start.plusDays(2).toString())
+                        .param("to", start.plusDays(3).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true))
+                .andExpect(jsonPath("$.bookings", hasSize(0)));
+    }
+
+    @Test
+    void getItemAvailabilityWithInvalidIntervalShouldReturn400() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        when(itemService.getItemById(1L)).thenReturn(testItem);
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", from.toString())
+                        .param("to", from.minusHours(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getItemAvailabilityForUnknownItemShouldReturn404() throws Exception {
+        when(itemService.getItemById(999L)).thenThrow(new NotFoundException("Item not found"));
+
+        mockMvc.perform(get("/items/999/availability")
+                        .param("from", LocalDateTime.now().toString())
+                        .param("to", LocalDateTime.now().plusDays(1).toString()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
@@ -19,6 +22,7 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImp;
 import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
@@ -62,7 +66,7 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        testUser = userRepository.save(new User(null, "Test User", "test@example.com"));
+        testUser = userRepository.save(new User(null, "Test User", "test@example.com", 0));
         testItem = itemRepository.save(
                 Item.builder()
                         .name("Test Item")
@@ -102,6 +106,39 @@ class ItemServiceImplTest {
         assertThrows(NotFoundException.class, () -> itemService.addItem(newItemRequest, testUser.getId()));
     }
 
+    @Test
+    void addItemsShouldImportRowsAndReportUnknownRequests() {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Need a ladder");
+        request.setRequestor(testUser);
+        request.setCreated(LocalDateTime.now());
+        itemRequestRepository.save(request);
+        List<NewItemRequest> batch = List.of(
+                NewItemRequest.builder().name("Ladder").description("Tall").available(true)
+                        .requestId(request.getId()).build(),
+                NewItemRequest.builder().name("Saw").description("Sharp").available(true)
+                        .requestId(999L).build(),
+                NewItemRequest.builder().name("Hammer").description("Heavy").available(false).build());
+
+        List<BatchRowResult> results = itemService.addItems(batch, testUser.getId());
+
+        assertEquals(List.of(BatchRowStatus.CREATED, BatchRowStatus.NOT_FOUND, BatchRowStatus.CREATED),
+                results.stream().map(BatchRowResult::getStatus).toList());
+        assertNull(results.get(1).getId());
+        Item ladder = itemRepository.findById(results.get(0).getId()).orElseThrow();
+        assertEquals(request.getId(), ladder.getRequest().getId());
+        assertEquals(testUser.getId(), ladder.getOwner().getId());
+        assertFalse(itemRepository.findById(results.get(2).getId()).orElseThrow().getAvailable());
+    }
+
+    @Test
+    void addItemsShouldThrowWhenOwnerNotFound() {
+        List<NewItemRequest> batch = List.of(
+                NewItemRequest.builder().name("Saw").description("Sharp").available(true).build());
+
+        assertThrows(NotFoundException.class, () -> itemService.addItems(batch, 999L));
+    }
+
     @Test
     void getItemByIdShouldReturnItem() {
         ItemDto result = itemService.getItemById(testItem.getId());
@@ -151,9 +188,27 @@ class ItemServiceImplTest {
         assertEquals(testItem.getId(), result.get(0).getId());
     }
 
+    @Test
+    void getOwnerItemsShouldPickLastAndNextBookingsByDate() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        Booking lastBooking = saveBooking(booker, Status.APPROVED, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(2));
+        saveBooking(booker, Status.APPROVED, LocalDateTime.now().minusDays(6), LocalDateTime.now().minusDays(5));
+        saveBooking(booker, Status.REJECTED, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1));
+        saveBooking(booker, Status.APPROVED, LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6));
+        Booking nextBooking = saveBooking(booker, Status.APPROVED, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2));
+        saveBooking(booker, Status.APPROVED, LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        ItemOwnerDto result = itemService.getOwnerItems(testUser.getId()).get(0);
+
+        assertEquals(lastBooking.getId(), result.getLastBooking().getId());
+        assertEquals(nextBooking.getId(), result.getNextBooking().getId());
+    }
+
     @Test
     void getOwnerItemsShouldThrowWhenNoItemsFound() {
-        User userWithoutItems = userRepository.save(new User(null, "No Items", "noitems@example.com"));
+        User userWithoutItems = userRepository.save(new User(null, "No Items", "noitems@example.com", 0));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> itemService.getOwnerItems(userWithoutItems.getId()));
@@ -181,7 +236,7 @@ class ItemServiceImplTest {
 
     @Test
     void createCommentShouldSaveAndReturnComment() {
-        User booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
         Booking booking = bookingRepository.save(
                 Booking.builder()
                         .start(LocalDateTime.now().minusDays(2))
@@ -196,7 +251,7 @@ class ItemServiceImplTest {
                 .text("Test Comment")
                 .build();
 
-        CommentDto result = itemService.addComment(testItem.getId(), commentDto, booker.getId());
+        CommentDto result = itemService.addComment(testItem.getId(), commentDto, booker.getId()).comment();
 
         assertNotNull(result.getId());
         assertEquals("Test Comment", result.getText());
@@ -215,7 +270,7 @@ class ItemServiceImplTest {
 
     @Test
     void getItemByIdShouldIncludeBookingsForOwner() {
-        User booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
         bookingRepository.save(
                 Booking.builder()
                         .start(LocalDateTime.now().minusDays(2))
@@ -241,4 +296,94 @@ class ItemServiceImplTest {
         assertNull(result.getLastBooking());
         assertNull(result.getNextBooking());
     }
-}
\ No newline at end of file
+
+    private Booking saveBooking(User booker, Status status, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(end)
+                .item(testItem)
+                .booker(booker)
+                .status(status)
+                .build());
+    }
+
+    @Test
+    void itemTagShouldChangeWhenItemOrCommentsChange() {
+        String initial = itemService.getItemTag(testItem.getId());
+        assertEquals(initial, itemService.getItemTag(testItem.getId()));
+
+        itemService.updateItem(ItemDto.builder().name("Updated Name").build(), testUser.getId(), testItem.getId());
+        String updated = itemService.getItemTag(testItem.getId());
+        assertNotEquals(initial, updated);
+
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        bookingRepository.save(
+                Booking.builder()
+                        .start(LocalDateTime.now().minusDays(2))
+                        .end(LocalDateTime.now().minusDays(1))
+                        .item(testItem)
+                        .booker(booker)
+                        .status(Status.APPROVED)
+                        .build()
+        );
+        itemService.addComment(testItem.getId(), CommentDto.builder().text("Test Comment").build(), booker.getId());
+        String commented = itemService.getItemTag(testItem.getId());
+        assertNotEquals(updated, commented);
+
+        booker.setName("Renamed Booker");
+        assertNotEquals(commented, itemService.getItemTag(testItem.getId()));
+    }
+
+    @Test
+    void getItemTagShouldThrowWhenItemNotFound() {
+        assertThrows(NotFoundException.class, () -> itemService.getItemTag(999L));
+    }
+
+    @Test
+    void ownerItemsTagShouldChangeOnlyWhenApprovedBookingsChange() {
+        User booker = userRepository.save(new User(null, "Booker", "booker@example.com", 0));
+        String initial = itemService.getOwnerItemsTag(testUser.getId());
+
+        Booking booking = bookingRepository.save(
+                Booking.builder()
+                        .start(LocalDateTime.now().plusDays(1))
+                        .end(LocalDateTime.now().plusDays(2))
+                        .item(testItem)
+                        .booker(booker)
+                        .status(Status.WAITING)
+                        .build()
+        );
+        assertEquals(initial, itemService.getOwnerItemsTag(testUser.getId()));
+
+        booking.setStatus(Status.APPROVED);
+        String approved = itemService.getOwnerItemsTag(testUser.getId());
+        assertNotEquals(initial, approved);
+
+        booking.setStart(LocalDateTime.now().minusHours(1));
+        assertNotEquals(approved, itemService.getOwnerItemsTag(testUser.getId()));
+    }
+
+    @Test
+    void updateItemShouldIncrementVersion() {
+        long version = testItem.getVersion();
+
+        itemService.updateItem(ItemDto.builder().name("Updated Name").build(), testUser.getId(), testItem.getId());
+
+        assertEquals(version + 1, itemRepository.findVersionById(testItem.getId()).orElseThrow());
+    }
+
+    @Test
+    void saveShouldRejectStaleItemVersion() {
+        Item stale = Item.builder()
+                .id(testItem.getId())
+                .name("Stale Name")
+                .description(testItem.getDescription())
+                .available(true)
+                .owner(testUser)
+                .version(testItem.getVersion())
+                .build();
+        itemService.updateItem(ItemDto.builder().name("Updated Name").build(), testUser.getId(), testItem.getId());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.saveAndFlush(stale));
+    }
+}
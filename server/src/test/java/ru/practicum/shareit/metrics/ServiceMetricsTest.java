@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({MetricsConfig.class, SimpleMeterRegistry.class, UserServiceImp.class, UserMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ServiceMetricsTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceAndMapperCallsAreTimed() {
+        UserDto created = userService.addUser(UserDto.builder().name("Timed").email("timed@example.com").build());
+        userService.getUserById(created.getId());
+
+        assertThat(meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tags("class", UserServiceImp.class.getName(), "method", "addUser", "exception", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tags("method", "getUserById", "exception", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MetricsConfig.MAPPING_TIMER)
+                .tag("class", UserMapperImpl.class.getName())
+                .timers()).isNotEmpty();
+    }
+
+    @Test
+    void failedCallsAreTaggedWithException() {
+        assertThatThrownBy(() -> userService.getUserById(-1L)).isInstanceOf(NotFoundException.class);
+
+        assertThat(meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tags("method", "getUserById", "exception", "NotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,240 @@
+package ru.practicum.shareit.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImp;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingServiceImpl.class, AvailabilityIndex.class, ItemServiceImp.class, UserServiceImp.class,
+        OutboxWriter.class, BookingMapperImpl.class, UserMapperImpl.class, ItemMapperImpl.class,
+        CommentMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxCursorRepository cursorRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final InMemoryEventBus bus = new InMemoryEventBus();
+    private final List<OutboxRecord> received = new ArrayList<>();
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "outbox-owner@example.com", 0));
+        booker = userRepository.save(new User(null, "Booker", "outbox-booker@example.com", 0));
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void committedChangesAreRelayedInOrder() {
+        ItemDto item = itemService.addItem(newItem("Drill"), owner.getId());
+        BookingDto booking = bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build(), booker.getId());
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(relay(List.of(bus)).relayBatch()).isEqualTo(3);
+
+        assertThat(received).extracting(OutboxRecord::type).containsExactly(DomainEventType.ITEM_CREATED,
+                DomainEventType.BOOKING_CREATED, DomainEventType.BOOKING_APPROVED);
+        assertThat(received).extracting(OutboxRecord::position).isSorted();
+        assertThat(received.get(2).aggregateId()).isEqualTo(booking.getId());
+        assertThat(received.get(2).payload())
+                .contains("\"ownerId\":" + owner.getId())
+                .contains("\"bookerId\":" + booker.getId())
+                .contains("\"status\":\"" + Status.APPROVED + "\"");
+        assertThat(outboxRepository.findAll()).allMatch(message -> message.getPublished() != null);
+    }
+
+    @Test
+    void eventCommittedLateIsRelayedAfterEventsCommittedBeforeIt() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicReference<ItemDto> slow = new AtomicReference<>();
+        Thread slowTransaction = Thread.ofPlatform().start(() -> transactionTemplate.executeWithoutResult(status -> {
+            slow.set(itemService.addItem(newItem("Slow"), owner.getId()));
+            written.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        ItemDto fast = itemService.addItem(newItem("Fast"), owner.getId());
+        OutboxRelay relay = relay(List.of(bus));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        commit.countDown();
+        slowTransaction.join(5000);
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        assertThat(received).extracting(OutboxRecord::aggregateId).containsExactly(fast.getId(), slow.get().getId());
+        assertThat(received.get(1).id()).isLessThan(received.get(0).id());
+        assertThat(received.get(1).position()).isGreaterThan(received.get(0).position());
+    }
+
+    @Test
+    void rolledBackChangeWritesNoEvent() {
+        ItemDto kept = itemService.addItem(newItem("Kept"), owner.getId());
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.addItem(newItem("Rolled back"), owner.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.findAll())
+                .extracting(OutboxMessage::getAggregateId)
+                .containsExactly(kept.getId());
+    }
+
+    @Test
+    void failedSinkGetsTheSameBatchAgain() {
+        itemService.addItem(newItem("Drill"), owner.getId());
+        AtomicBoolean failing = new AtomicBoolean(true);
+        OutboxRelay relay = relay(List.of(records -> {
+            if (failing.getAndSet(false)) {
+                throw new IllegalStateException("sink is down");
+            }
+            bus.publish(records);
+        }));
+
+        assertThatThrownBy(relay::relayBatch).isInstanceOf(IllegalStateException.class);
+        OutboxMessage committed = outboxRepository.findAll().getFirst();
+        assertThat(committed.getPublished()).isNotNull();
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(received).extracting(OutboxRecord::type).containsExactly(DomainEventType.ITEM_CREATED);
+        assertThat(received.getFirst().position()).isEqualTo(committed.getPosition());
+        assertThat(relay.relayBatch()).isZero();
+    }
+
+    @Test
+    void sinksSeeNothingWhenRelayTransactionFailsToCommit() {
+        itemService.addItem(newItem("Drill"), owner.getId());
+        long position = cursorRepository.findById(OutboxCursor.RELAY).orElseThrow().getPosition();
+        TransactionOperations failingCommit = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    action.doInTransaction(status);
+                    status.setRollbackOnly();
+                });
+                throw new IllegalStateException("commit failed");
+            }
+        };
+        OutboxRelay failing = new OutboxRelay(outboxRepository, cursorRepository, failingCommit, List.of(bus), 100,
+                Duration.ofMillis(20), Duration.ofDays(1));
+
+        assertThatThrownBy(failing::relayBatch).isInstanceOf(IllegalStateException.class);
+        assertThat(received).isEmpty();
+        assertThat(outboxRepository.findAll()).allMatch(message -> message.getPublished() == null);
+
+        assertThat(relay(List.of(bus)).relayBatch()).isEqualTo(1);
+        assertThat(received).extracting(OutboxRecord::position).containsExactly(position + 1);
+    }
+
+    @Test
+    void brokerKeepsLastEventsPerTopic() {
+        LocalBrokerSink broker = new LocalBrokerSink(2);
+        broker.publish(List.of(record(1L, "item"), record(2L, "booking"), record(3L, "item"),
+                record(4L, "item")));
+
+        assertThat(broker.poll("item", 0, 10)).extracting(OutboxRecord::id).containsExactly(3L, 4L);
+        assertThat(broker.poll("item", 3, 10)).extracting(OutboxRecord::id).containsExactly(4L);
+        assertThat(broker.poll("booking", 0, 10)).extracting(OutboxRecord::id).containsExactly(2L);
+        assertThat(broker.poll("user", 0, 10)).isEmpty();
+    }
+
+    private OutboxRelay relay(List<OutboxSink> sinks) {
+        return new OutboxRelay(outboxRepository, cursorRepository, transactionTemplate, sinks, 100,
+                Duration.ofMillis(20), Duration.ofDays(1));
+    }
+
+    private NewItemRequest newItem(String name) {
+        return NewItemRequest.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .build();
+    }
+
+    private OutboxRecord record(Long id, String aggregate) {
+        return new OutboxRecord(id, id, aggregate, id, DomainEventType.ITEM_CREATED, "{}", LocalDateTime.now());
+    }
+}
@@ -77,9 +77,36 @@ class ItemRequestControllerTest {
         verify(itemRequestService).getUserItemRequests(anyLong());
     }
 
+    @Test
+    void getUserItemRequestsShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        when(itemRequestService.getUserItemRequestsTag(1L)).thenReturn("\"requests\"");
+
+        mockMvc.perform(get("/requests")
+                        .header(USER_ID_HEADER, 1L)
+                        .header("If-None-Match", "\"requests\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"requests\""))
+                .andExpect(content().string(""));
+
+        verify(itemRequestService, never()).getUserItemRequests(anyLong());
+    }
+
+    @Test
+    void getItemRequestByIdShouldReturnETag() throws Exception {
+        when(itemRequestService.getItemRequestTag(1L, 1L)).thenReturn("\"request\"");
+        when(itemRequestService.getItemRequestById(1L, 1L)).thenReturn(testRequest);
+
+        mockMvc.perform(get("/requests/1")
+                        .header(USER_ID_HEADER, 1L)
+                        .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"request\""))
+                .andExpect(jsonPath("$.id").value(testRequest.getId()));
+    }
+
     @Test
     void getOtherUsersItemRequestsShouldReturnListOfRequests() throws Exception {
-        when(itemRequestService.getOtherUsersItemRequests(anyLong()))
+        when(itemRequestService.getOtherUsersItemRequests(anyLong(), anyInt(), anyInt()))
                 .thenReturn(List.of(testRequest));
 
         mockMvc.perform(get("/requests/all")
@@ -90,7 +117,7 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(testRequest.getId()))
                 .andExpect(jsonPath("$[0].description").value(testRequest.getDescription()));
 
-        verify(itemRequestService).getOtherUsersItemRequests(anyLong());
+        verify(itemRequestService).getOtherUsersItemRequests(1L, 0, 100);
     }
 
     @Test
@@ -7,6 +7,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Item;
@@ -20,6 +21,7 @@ import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImp;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,7 +30,8 @@ import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({ItemRequestServiceImpl.class, ItemRequestMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class})
+@Import({ItemRequestServiceImpl.class, UserServiceImp.class, ItemRequestMapperImpl.class, ItemMapperImpl.class,
+        UserMapperImpl.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class ItemRequestServiceImplTest {
 
@@ -49,7 +52,7 @@ class ItemRequestServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        testUser = userRepository.save(new User(null, "Test User", "test@example.com"));
+        testUser = userRepository.save(new User(null, "Test User", "test@example.com", 0));
     }
 
     @Test
@@ -81,7 +84,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getOtherUsersItemRequestsShouldNotReturnCurrentUserRequests() {
-        User anotherUser = userRepository.save(new User(null, "Another User", "another@example.com"));
+        User anotherUser = userRepository.save(new User(null, "Another User", "another@example.com", 0));
 
         ItemRequest userRequest = new ItemRequest();
         userRequest.setRequestor(testUser);
@@ -95,12 +98,79 @@ class ItemRequestServiceImplTest {
         anotherUserRequest.setCreated(LocalDateTime.now());
         itemRequestRepository.save(anotherUserRequest);
 
-        List<ItemRequestDto> result = itemRequestService.getOtherUsersItemRequests(testUser.getId());
+        List<ItemRequestDto> result = itemRequestService.getOtherUsersItemRequests(testUser.getId(), 0, 10);
 
         assertEquals(1, result.size());
         assertEquals(anotherUserRequest.getDescription(), result.get(0).getDescription());
     }
 
+    @Test
+    void getOtherUsersItemRequestsShouldGroupItemsByRequestAndPage() {
+        User anotherUser = userRepository.save(new User(null, "Another User", "another@example.com", 0));
+
+        ItemRequest olderRequest = new ItemRequest();
+        olderRequest.setRequestor(anotherUser);
+        olderRequest.setDescription("Older request");
+        olderRequest.setCreated(LocalDateTime.now().minusDays(1));
+        itemRequestRepository.save(olderRequest);
+
+        ItemRequest newerRequest = new ItemRequest();
+        newerRequest.setRequestor(anotherUser);
+        newerRequest.setDescription("Newer request");
+        newerRequest.setCreated(LocalDateTime.now());
+        itemRequestRepository.save(newerRequest);
+
+        Item item = new Item();
+        item.setName("Drill");
+        item.setDescription("Powerful drill");
+        item.setAvailable(true);
+        item.setOwner(testUser);
+        item.setRequest(olderRequest);
+        itemRepository.save(item);
+
+        List<ItemRequestDto> firstPage = itemRequestService.getOtherUsersItemRequests(testUser.getId(), 0, 1);
+        List<ItemRequestDto> secondPage = itemRequestService.getOtherUsersItemRequests(testUser.getId(), 1, 1);
+
+        assertEquals(1, firstPage.size());
+        assertEquals(newerRequest.getId(), firstPage.get(0).getId());
+        assertTrue(firstPage.get(0).getItems().isEmpty());
+        assertEquals(1, secondPage.size());
+        assertEquals(olderRequest.getId(), secondPage.get(0).getId());
+        assertEquals(1, secondPage.get(0).getItems().size());
+        assertEquals(item.getName(), secondPage.get(0).getItems().get(0).getName());
+    }
+
+    @Test
+    void getOtherUsersItemRequestsShouldStartAtOffsetNotAtPageBoundary() {
+        User anotherUser = userRepository.save(new User(null, "Another User", "another@example.com", 0));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setRequestor(anotherUser);
+            request.setDescription("Request " + i);
+            request.setCreated(now.minusMinutes(i));
+            itemRequestRepository.save(request);
+        }
+
+        List<ItemRequestDto> result = itemRequestService.getOtherUsersItemRequests(testUser.getId(), 5, 10);
+
+        assertEquals(10, result.size());
+        assertEquals("Request 5", result.get(0).getDescription());
+        assertEquals("Request 14", result.get(9).getDescription());
+    }
+
+    @Test
+    void getOtherUsersItemRequestsWithTooLargePageShouldThrowException() {
+        assertThrows(ValidationException.class, () ->
+                itemRequestService.getOtherUsersItemRequests(testUser.getId(), 0, 1001));
+    }
+
+    @Test
+    void getOtherUsersItemRequestsWithInvalidPageShouldThrowException() {
+        assertThrows(ValidationException.class, () ->
+                itemRequestService.getOtherUsersItemRequests(testUser.getId(), -1, 10));
+    }
+
     @Test
     void getItemRequestByIdShouldReturnRequestWithItems() {
         ItemRequest request = new ItemRequest();
@@ -139,4 +209,39 @@ class ItemRequestServiceImplTest {
         assertThrows(NotFoundException.class, () ->
                 itemRequestService.addItemRequest(requestCreate, 999L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void requestTagsShouldChangeWhenItemsForRequestChange() {
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Need a drill");
+        request.setRequestor(testUser);
+        request.setCreated(LocalDateTime.now());
+        itemRequestRepository.save(request);
+        User owner = userRepository.save(new User(null, "Owner", "owner@example.com", 0));
+
+        String userTag = itemRequestService.getUserItemRequestsTag(testUser.getId());
+        String requestTag = itemRequestService.getItemRequestTag(request.getId(), owner.getId());
+        assertEquals(requestTag, itemRequestService.getItemRequestTag(request.getId(), testUser.getId()));
+
+        Item item = itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+        String userTagWithItem = itemRequestService.getUserItemRequestsTag(testUser.getId());
+        String requestTagWithItem = itemRequestService.getItemRequestTag(request.getId(), owner.getId());
+        assertNotEquals(userTag, userTagWithItem);
+        assertNotEquals(requestTag, requestTagWithItem);
+
+        item.setAvailable(false);
+        assertNotEquals(userTagWithItem, itemRequestService.getUserItemRequestsTag(testUser.getId()));
+        assertNotEquals(requestTagWithItem, itemRequestService.getItemRequestTag(request.getId(), owner.getId()));
+    }
+
+    @Test
+    void getItemRequestTagShouldThrowWhenRequestNotFound() {
+        assertThrows(NotFoundException.class, () -> itemRequestService.getItemRequestTag(999L, testUser.getId()));
+    }
+}
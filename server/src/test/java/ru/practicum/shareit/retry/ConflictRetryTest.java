@@ -0,0 +1,63 @@
+package ru.practicum.shareit.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void conflictIsRetriedUntilUpdateSucceeds() {
+        ConflictRetry retry = new ConflictRetry(3, Duration.ZERO);
+
+        String result = retry.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "updated";
+        });
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void conflictIsRethrownAfterMaxAttempts() {
+        ConflictRetry retry = new ConflictRetry(2, Duration.ZERO);
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void singleAttemptDisablesRetry() {
+        ConflictRetry retry = new ConflictRetry(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void otherExceptionsAreNotRetried() {
+        ConflictRetry retry = new ConflictRetry(3, Duration.ZERO);
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("broken");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CacheConfig.class, UserServiceImp.class, UserMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User(null, "Cached User", "cached@example.com", 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUserByIdShouldHitDatabaseOnce() {
+        userService.getUserById(user.getId());
+        statistics.clear();
+
+        UserDto result = userService.getUserById(user.getId());
+
+        assertEquals(user.getName(), result.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateUserShouldEvictCachedUser() {
+        userService.getUserById(user.getId());
+
+        userService.updateUser(new UserDto(null, "Renamed", null), user.getId());
+
+        assertEquals("Renamed", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void readBeforeUpdateCommitsShouldNotKeepStaleUser() throws Exception {
+        userService.getUserById(user.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(new UserDto(null, "Renamed", null), user.getId());
+            assertEquals("Cached User", readInOtherThread());
+        });
+
+        assertEquals("Renamed", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void deleteUserShouldEvictCachedUser() {
+        userService.getUserById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+
+    private String readInOtherThread() {
+        try {
+            return CompletableFuture.supplyAsync(() -> userService.getUserById(user.getId()).getName())
+                    .get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -5,10 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
 import ru.practicum.shareit.exceptions.DuplicateException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.retry.ConflictRetry;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -24,6 +29,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(ConflictRetry.class)
 class UserControllerTest {
 
     @Autowired
@@ -69,6 +75,25 @@ class UserControllerTest {
         verify(userService).addUser(any(UserDto.class));
     }
 
+    @Test
+    void createUsersShouldReturnPerRowStatus() throws Exception {
+        when(userService.addUsers(anyList())).thenReturn(List.of(
+                BatchRowResult.builder().index(0).status(BatchRowStatus.CREATED).id(7L).build(),
+                BatchRowResult.failed(1, BatchRowStatus.DUPLICATE, "Пользователь с такой почтой уже существует")));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testUser, testUser)))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"));
+
+        verify(userService).addUsers(argThat(users -> users.size() == 2));
+    }
+
     @Test
     void getUserByIdWhenUserExistsShouldReturnUser() throws Exception {
         when(userService.getUserById(1L)).thenReturn(testUser);
@@ -112,6 +137,22 @@ class UserControllerTest {
         verify(userService).updateUser(any(UserDto.class), eq(1L));
     }
 
+    @Test
+    void updateUserShouldReturnConflictWhenVersionChangedConcurrently() throws Exception {
+        UserDto updatedUser = new UserDto(1L, "Updated John Doe", "updated@example.com");
+        when(userService.updateUser(any(UserDto.class), eq(1L)))
+                .thenThrow(new OptimisticLockingFailureException("stale user"));
+
+        mockMvc.perform(patch("/users/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedUser))
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"));
+
+        verify(userService, times(1)).updateUser(any(UserDto.class), eq(1L));
+    }
+
     @Test
     void deleteUserWhenUserExistsShouldReturnNoContent() throws Exception {
         doNothing().when(userService).deleteUser(1L);
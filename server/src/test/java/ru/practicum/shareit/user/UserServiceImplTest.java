@@ -1,11 +1,16 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.batch.BatchRowResult;
+import ru.practicum.shareit.batch.BatchRowStatus;
 import ru.practicum.shareit.exceptions.DuplicateException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.dao.UserRepository;
@@ -14,11 +19,12 @@ import ru.practicum.shareit.user.dto.UserMapperImpl;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImp;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Import({UserServiceImp.class, UserMapperImpl.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class UserServiceImplTest {
@@ -29,11 +35,14 @@ class UserServiceImplTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User testUser;
 
     @BeforeEach
     void setUp() {
-        testUser = userRepository.save(new User(null, "Test User", "test@example.com"));
+        testUser = userRepository.save(new User(null, "Test User", "test@example.com", 0));
     }
 
     @Test
@@ -56,6 +65,43 @@ class UserServiceImplTest {
     }
 
 
+    @Test
+    void addUsersShouldReportDuplicateEmailsPerRow() {
+        List<UserDto> batch = List.of(
+                new UserDto(null, "First", "first@example.com"),
+                new UserDto(null, "Existing", testUser.getEmail()),
+                new UserDto(null, "Second", "second@example.com"),
+                new UserDto(null, "Repeated", "first@example.com"));
+
+        List<BatchRowResult> results = userService.addUsers(batch);
+
+        assertEquals(List.of(BatchRowStatus.CREATED, BatchRowStatus.DUPLICATE, BatchRowStatus.CREATED,
+                BatchRowStatus.DUPLICATE), results.stream().map(BatchRowResult::getStatus).toList());
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BatchRowResult::getIndex).toList());
+        assertTrue(userRepository.existsById(results.get(0).getId()));
+        assertTrue(userRepository.existsById(results.get(2).getId()));
+        assertNull(results.get(1).getId());
+        assertEquals(3, userRepository.count());
+    }
+
+    @Test
+    void addUsersShouldInsertInJdbcBatches() {
+        List<UserDto> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            batch.add(new UserDto(null, "Batch User " + i, "batch" + i + "@example.com"));
+        }
+        userRepository.flush();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BatchRowResult> results = userService.addUsers(batch);
+
+        assertEquals(120, results.stream().filter(row -> row.getStatus() == BatchRowStatus.CREATED).count());
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
     @Test
     void updateUserShouldUpdateFields() {
         UserDto updateDto = new UserDto(null, "Updated Name", null);
@@ -87,7 +133,7 @@ class UserServiceImplTest {
 
     @Test
     void updateUserShouldThrowWhenEmailExistsForOtherUser() {
-        User anotherUser = userRepository.save(new User(null, "Another", "another@example.com"));
+        User anotherUser = userRepository.save(new User(null, "Another", "another@example.com", 0));
         UserDto updateDto = new UserDto(null, "Name", anotherUser.getEmail());
 
         assertThrows(DuplicateException.class, () -> userService.updateUser(updateDto, testUser.getId()));
@@ -128,8 +174,8 @@ class UserServiceImplTest {
 
     @Test
     void findAllShouldReturnAllUsers() {
-        userRepository.save(new User(null, "User 1", "user1@example.com"));
-        userRepository.save(new User(null, "User 2", "user2@example.com"));
+        userRepository.save(new User(null, "User 1", "user1@example.com", 0));
+        userRepository.save(new User(null, "User 2", "user2@example.com", 0));
 
         List<UserDto> result = userService.getAll();
 
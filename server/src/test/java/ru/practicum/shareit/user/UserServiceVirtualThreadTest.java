@@ -0,0 +1,85 @@
+package ru.practicum.shareit.user;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImp;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({UserServiceImp.class, UserMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceVirtualThreadTest {
+
+    private static final int USERS = 100;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void userServiceDoesNotPinCarrierThreadsWhileWaitingForConnections(@TempDir Path directory) throws Exception {
+        List<UserDto> users = new ArrayList<>();
+
+        Path dump = directory.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<UserDto>> futures = new ArrayList<>();
+                for (int i = 0; i < USERS; i++) {
+                    String email = "virtual" + i + "@example.com";
+                    futures.add(executor.submit(() -> {
+                        UserDto created = userService.addUser(UserDto.builder()
+                                .name("Virtual User")
+                                .email(email)
+                                .build());
+                        return userService.getUserById(created.getId());
+                    }));
+                }
+                for (Future<UserDto> future : futures) {
+                    users.add(future.get());
+                }
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> "jdk.VirtualThreadPinned".equals(event.getEventType().getName()))
+                .toList();
+        assertThat(users).hasSize(USERS);
+        assertThat(userRepository.count()).isEqualTo(USERS);
+        assertThat(pinned).as("pinned virtual threads: %s", pinned).isEmpty();
+    }
+}